@@ -0,0 +1,22 @@
+package br.com.sysmap.bootcamp.config;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Security principal carrying the {@link Users} row resolved during authentication, so request
+ * handling reads the current user from the security context instead of selecting it again.
+ * Bearer-token requests only carry the id and e-mail from the token claims.
+ */
+public record AuthenticatedUser(Users users) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return users.getEmail();
+    }
+
+    @Override
+    public String toString() {
+        return users.getEmail();
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.sysmap.bootcamp.config;
 
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
 import br.com.sysmap.bootcamp.domain.service.UsersService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -7,26 +9,55 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class CustomAuthenticationProvider implements AuthenticationProvider {
 
     @Autowired
-    private UsersService userDetailsService;
+    private UsersService usersService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private PasswordVerifier passwordVerifier;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String email = authentication.getName();
+        Object credentials = authentication.getCredentials();
+
+        AuthenticatedUser principal = principalCache.get(email, credentials)
+                .orElseGet(() -> loadAndVerify(email, credentials));
+
+        return UsernamePasswordAuthenticationToken.authenticated(principal, principal.users().getPassword(), List.of());
+    }
+
+    private AuthenticatedUser loadAndVerify(String email, Object credentials) {
         try{
-            UserDetails userDetails = userDetailsService.loadUserByUsername(authentication.getName());
-            return new UsernamePasswordAuthenticationToken(userDetails.getUsername(),userDetails.getPassword(),userDetails.getAuthorities());
-        }catch (UsernameNotFoundException e){
+            Users users = usersService.findByEmail(email);
+            if (!matches(email, credentials, users.getPassword())) {
+                throw new BadCredentialsException("Invalid Credentials");
+            }
+            AuthenticatedUser principal = new AuthenticatedUser(users);
+            principalCache.put(email, credentials, principal);
+            return principal;
+        }catch (EntityNotFoundException e){
             throw new BadCredentialsException("Invalid Credentials");
         }
     }
 
+    // Only the raw password is accepted: the stored hash is not a credential
+    private boolean matches(String email, Object credentials, String storedPassword) {
+        if (credentials == null) {
+            return false;
+        }
+        return passwordVerifier.matches(email, credentials.toString(), storedPassword);
+    }
+
     @Override
     public boolean supports(Class<?> authentication) {
         return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
@@ -0,0 +1,135 @@
+package br.com.sysmap.bootcamp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies passwords with BCrypt on a dedicated bounded pool and memoizes recent successful checks.
+ * This service never hashes new passwords, so only the verification path lives here.
+ * The pool is private to this class so it never replaces Spring's application task executor.
+ * {@link #matches} still waits on the calling request thread: the pool caps how many checks burn
+ * CPU at once, and at most {@code max-waiting} callers may wait for it, each for at most
+ * {@code timeout}, so a login burst cannot park the whole Tomcat pool. Beyond that callers fail
+ * fast, and a check whose caller gave up is cancelled. Only waiting callers submit work, so the
+ * pool's queue never needs to hold more than {@code max-waiting} checks.
+ * The memo key holds only the credential fingerprint and the stored hash, so a password
+ * change invalidates it without any explicit eviction.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final PrincipalCache principalCache;
+    private final Duration timeout;
+    private final Semaphore waiters;
+    private final Cache<VerificationKey, Boolean> verified;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            PrincipalCache principalCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${security.password-verifier.pool-size:0}") int poolSize,
+                            @Value("${security.password-verifier.max-waiting:32}") int maxWaiting,
+                            @Value("${security.password-verifier.max-size:10000}") long maxSize,
+                            @Value("${security.password-verifier.ttl:15m}") Duration ttl,
+                            @Value("${security.password-verifier.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxWaiting), verificationThreads());
+        this.principalCache = principalCache;
+        this.timeout = timeout;
+        this.waiters = new Semaphore(maxWaiting);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.verified, "password-verifications");
+    }
+
+    public boolean matches(String email, String rawPassword, String storedPassword) {
+        VerificationKey key = new VerificationKey(email, principalCache.fingerprint(rawPassword), storedPassword);
+        if (this.verified.getIfPresent(key) != null) {
+            return true;
+        }
+
+        boolean matches = offload(() -> this.passwordEncoder.matches(rawPassword, storedPassword));
+        if (matches) {
+            this.verified.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    // Blocks the caller, so the number of waiting request threads is bounded before anything is queued
+    private boolean offload(Callable<Boolean> task) {
+        if (!this.waiters.tryAcquire()) {
+            throw new AuthenticationServiceException("Password verification capacity exhausted");
+        }
+        Future<Boolean> future = null;
+        try {
+            future = this.executor.submit(task);
+            return future.get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException | TimeoutException e) {
+            throw new AuthenticationServiceException("Password verification capacity exhausted", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Password verification interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AuthenticationServiceException("Password verification failed", e.getCause());
+        } finally {
+            if (future != null && !future.isDone()) {
+                cancel(future);
+            }
+            this.waiters.release();
+        }
+    }
+
+    // A queued hash is dropped before it runs; BCrypt ignores the interrupt, so a running one finishes unused
+    private void cancel(Future<?> future) {
+        future.cancel(true);
+        if (future instanceof Runnable queued) {
+            this.executor.remove(queued);
+        }
+    }
+
+    private static ThreadFactory verificationThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-verification-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record VerificationKey(String email, String credentialFingerprint, String storedPassword) {
+    }
+}
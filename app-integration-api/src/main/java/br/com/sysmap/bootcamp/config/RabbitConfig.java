@@ -1,6 +1,8 @@
 package br.com.sysmap.bootcamp.config;
 
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -18,4 +20,9 @@ public class RabbitConfig {
         return new Queue("WalletQueue");
     }
 
+    @Bean
+    public MessageConverter converter() {
+        return new WalletMessageConverter(new SimpleMessageConverter());
+    }
+
 }
@@ -0,0 +1,29 @@
+package br.com.sysmap.bootcamp.config;
+
+import br.com.sysmap.bootcamp.domain.service.integration.SpotifyTokenProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import se.michaelthelin.spotify.SpotifyApi;
+
+import java.time.Duration;
+
+@Configuration
+public class SpotifyConfig {
+
+    @Bean
+    public SpotifyApi spotifyClient(@Value("${spotify.client-id:}") String clientId,
+                                    @Value("${spotify.client-secret:}") String clientSecret) {
+        return new SpotifyApi.Builder()
+                .setClientId(clientId)
+                .setClientSecret(clientSecret)
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public SpotifyTokenProvider spotifyTokenProvider(SpotifyApi spotifyClient,
+                                                     @Value("${spotify.token.refresh-skew:60s}") Duration refreshSkew) {
+        return new SpotifyTokenProvider(() -> spotifyClient.clientCredentials().build(), refreshSkew);
+    }
+
+}
@@ -0,0 +1,104 @@
+package br.com.sysmap.bootcamp.config;
+
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Encodes {@link WalletDto} as a fixed binary layout instead of Java serialization:
+ * <pre>
+ * version 1: version:u8 | scale:i32 | unscaled:i64 | emailLength:u16 | email:utf8
+ * version 2: version:u8 | scale:i32 | unscaled:i64 | eventId:i64+i64 | emailLength:u16 | email:utf8
+ * </pre>
+ * Version 2 carries the event id consumers deduplicate on; messages without one are still written as version 1.
+ * Any other payload, including Java-serialized messages still queued from older producers,
+ * is handled by the delegate converter.
+ */
+public class WalletMessageConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/vnd.bootcamp.wallet";
+    public static final byte VERSION = 2;
+
+    private static final byte VERSION_WITHOUT_EVENT_ID = 1;
+    private static final int FIXED_LENGTH = Byte.BYTES + Integer.BYTES + Long.BYTES + Short.BYTES;
+    private static final int EVENT_ID_LENGTH = 2 * Long.BYTES;
+    private static final int MAX_EMAIL_LENGTH = 0xFFFF;
+
+    private final MessageConverter delegate;
+
+    public WalletMessageConverter(MessageConverter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        if (!(object instanceof WalletDto walletDto)) {
+            return delegate.toMessage(object, messageProperties);
+        }
+
+        byte[] body = encode(walletDto);
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        if (!CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return delegate.fromMessage(message);
+        }
+        return decode(message.getBody());
+    }
+
+    public byte[] encode(WalletDto walletDto) {
+        BigInteger unscaled = walletDto.getValue().unscaledValue();
+        if (unscaled.bitLength() > 63) {
+            throw new MessageConversionException("Wallet amount does not fit the binary layout: " + walletDto.getValue());
+        }
+        byte[] email = walletDto.getEmail().getBytes(StandardCharsets.UTF_8);
+        if (email.length > MAX_EMAIL_LENGTH) {
+            throw new MessageConversionException("Wallet e-mail is too long for the binary layout");
+        }
+
+        UUID eventId = walletDto.getEventId();
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_LENGTH + (eventId == null ? 0 : EVENT_ID_LENGTH) + email.length)
+                .put(eventId == null ? VERSION_WITHOUT_EVENT_ID : VERSION)
+                .putInt(walletDto.getValue().scale())
+                .putLong(unscaled.longValue());
+        if (eventId != null) {
+            buffer.putLong(eventId.getMostSignificantBits()).putLong(eventId.getLeastSignificantBits());
+        }
+        return buffer.putShort((short) email.length)
+                .put(email)
+                .array();
+    }
+
+    public WalletDto decode(byte[] body) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            byte version = buffer.get();
+            if (version != VERSION && version != VERSION_WITHOUT_EVENT_ID) {
+                throw new MessageConversionException("Unsupported wallet message version: " + version);
+            }
+
+            int scale = buffer.getInt();
+            long unscaled = buffer.getLong();
+            UUID eventId = version == VERSION ? new UUID(buffer.getLong(), buffer.getLong()) : null;
+            byte[] email = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(email);
+
+            return new WalletDto(new String(email, StandardCharsets.UTF_8), BigDecimal.valueOf(unscaled, scale), eventId);
+        } catch (BufferUnderflowException e) {
+            throw new MessageConversionException("Truncated wallet message", e);
+        }
+    }
+}
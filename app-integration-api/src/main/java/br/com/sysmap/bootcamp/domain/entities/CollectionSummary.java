@@ -0,0 +1,37 @@
+package br.com.sysmap.bootcamp.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "ALBUM_COLLECTION_SUMMARY")
+public class CollectionSummary {
+
+    @Id
+    @Column(name = "ID_USER", updatable = false, nullable = false)
+    private Long userId;
+
+    @Column(name = "ALBUM_COUNT", nullable = false)
+    private Long albumCount;
+
+    @Column(name = "TOTAL_VALUE", nullable = false, precision = 38, scale = 2)
+    private BigDecimal totalValue;
+
+    @Column(name = "LAST_PURCHASE")
+    private LocalDateTime lastPurchase;
+
+}
@@ -0,0 +1,12 @@
+package br.com.sysmap.bootcamp.domain.exception;
+
+public class SpotifyUnavailableException extends RuntimeException{
+
+    public SpotifyUnavailableException(String message){
+        super(message);
+    }
+
+    public SpotifyUnavailableException(String message, Throwable cause){
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.sysmap.bootcamp.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed projection of {@link br.com.sysmap.bootcamp.domain.entities.Album}: only these columns
+ * are selected and the owning user is never joined.
+ */
+public interface CollectionAlbum {
+
+    Long getId();
+
+    String getName();
+
+    String getIdSpotify();
+
+    String getArtistName();
+
+    String getImageUrl();
+
+    BigDecimal getValue();
+}
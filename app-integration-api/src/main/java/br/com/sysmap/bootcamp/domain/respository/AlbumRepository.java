@@ -2,9 +2,13 @@ package br.com.sysmap.bootcamp.domain.respository;
 
 import br.com.sysmap.bootcamp.domain.entities.Album;
 import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.model.CollectionAlbum;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,7 +16,12 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
 
     List<Album> findAllByUsers(Users users);
 
+    List<CollectionAlbum> findByUsersAndIdGreaterThanOrderByIdAsc(Users users, Long id, Limit limit);
+
     boolean existsByIdSpotify(String idSpotify);
 
     boolean existsByUsersAndIdSpotify(Users users, String idSpotify);
+
+    @Query("select a.idSpotify from Album a where a.users = :users and a.idSpotify in :idSpotify")
+    List<String> findOwnedIdSpotify(Users users, Collection<String> idSpotify);
 }
@@ -0,0 +1,26 @@
+package br.com.sysmap.bootcamp.domain.respository;
+
+import br.com.sysmap.bootcamp.domain.entities.CollectionSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface CollectionSummaryRepository extends JpaRepository<CollectionSummary, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CollectionSummary s set s.albumCount = s.albumCount + :count, s.totalValue = s.totalValue + :amount, " +
+            "s.lastPurchase = :purchasedAt where s.userId = :userId")
+    int addPurchase(@Param("userId") Long userId, @Param("count") Long count, @Param("amount") BigDecimal amount,
+                    @Param("purchasedAt") LocalDateTime purchasedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CollectionSummary s set s.albumCount = s.albumCount - 1, s.totalValue = s.totalValue - :amount " +
+            "where s.userId = :userId")
+    int removeAlbum(@Param("userId") Long userId, @Param("amount") BigDecimal amount);
+}
@@ -1,7 +1,11 @@
 package br.com.sysmap.bootcamp.domain.respository;
 
 import br.com.sysmap.bootcamp.domain.entities.Users;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +14,8 @@ import java.util.Optional;
 public interface UsersRepository extends JpaRepository<Users, Long> {
 
         Optional<Users> findByEmail(String email);
+
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("select u from Users u where u.id = :id")
+        Optional<Users> lockById(@Param("id") Long id);
 }
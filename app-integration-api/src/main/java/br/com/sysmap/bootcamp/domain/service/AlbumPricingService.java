@@ -0,0 +1,65 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Prices an album deterministically from its Spotify id: a SHA-256 of {@code salt:id} picks
+ * a cent value between {@code min} and {@code max}. The same album therefore has the same price
+ * in every search, cached response and purchase. Computed prices are kept in a bounded table.
+ */
+@Service
+public class AlbumPricingService {
+
+    private final long minCents;
+    private final long rangeCents;
+    private final String salt;
+    private final Cache<String, BigDecimal> prices;
+
+    public AlbumPricingService(MeterRegistry meterRegistry,
+                               @Value("${album-pricing.min:12.00}") BigDecimal min,
+                               @Value("${album-pricing.max:100.00}") BigDecimal max,
+                               @Value("${album-pricing.salt:bootplay}") String salt,
+                               @Value("${album-pricing.max-size:100000}") long maxSize) {
+        if (min.signum() < 0 || max.compareTo(min) < 0) {
+            throw new IllegalStateException("album-pricing.min must be positive and not greater than album-pricing.max");
+        }
+        this.minCents = toCents(min);
+        this.rangeCents = toCents(max) - this.minCents + 1;
+        this.salt = salt;
+        this.prices = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.prices, "album-prices");
+    }
+
+    public BigDecimal priceOf(String idSpotify) {
+        return this.prices.get(idSpotify, this::compute);
+    }
+
+    private BigDecimal compute(String idSpotify) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((this.salt + ":" + idSpotify).getBytes(StandardCharsets.UTF_8));
+            long hash = ByteBuffer.wrap(digest).getLong();
+            return BigDecimal.valueOf(this.minCents + Long.remainderUnsigned(hash, this.rangeCents), 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long toCents(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+}
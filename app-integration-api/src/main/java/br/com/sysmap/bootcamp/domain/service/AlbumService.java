@@ -5,62 +5,117 @@ import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.exception.DuplicatedIdException;
 import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
 import br.com.sysmap.bootcamp.domain.model.AlbumModel;
+import br.com.sysmap.bootcamp.domain.model.CollectionAlbum;
 import br.com.sysmap.bootcamp.domain.respository.AlbumRepository;
-import br.com.sysmap.bootcamp.domain.service.integration.SpotifyApi;
+import br.com.sysmap.bootcamp.domain.service.integration.AlbumSearchCache;
+import br.com.sysmap.bootcamp.dto.CollectionSummaryDto;
+import br.com.sysmap.bootcamp.dto.CursorPageDto;
 import br.com.sysmap.bootcamp.dto.WalletDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.hc.core5.http.ParseException;
 import org.springframework.amqp.core.Queue;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
 
-import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 
 @RequiredArgsConstructor
 @Slf4j
 @Service
 public class AlbumService {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final Queue queue;
-    private final RabbitTemplate template;
-    private final SpotifyApi spotifyApi;
+    private final OutboxService outboxService;
+    private final AlbumSearchCache albumSearchCache;
     private final AlbumRepository albumRepository;
+    private final AlbumPricingService albumPricingService;
     private final UsersService usersService;
+    private final CollectionSummaryService collectionSummaryService;
 
-    @Transactional(readOnly = true)
-    public List<AlbumModel> getAlbums(String search) throws IOException, ParseException, SpotifyWebApiException {
-        return this.spotifyApi.getAlbums(search);
+    public CompletableFuture<List<AlbumModel>> getAlbums(String search, int offset, int limit) {
+        return this.albumSearchCache.getAlbumsAsync(search, offset, limit);
     }
 
     @Transactional(propagation = Propagation.REQUIRED)
     public Album saveAlbum(Album album) {
 
-        if (albumRepository.existsByUsersAndIdSpotify(getUser(), album.getIdSpotify())) {
+        Users user = getUser();
+        if (albumRepository.existsByUsersAndIdSpotify(user, album.getIdSpotify())) {
             throw new DuplicatedIdException("Cannot save album with duplicate ID: " + album.getIdSpotify());
         }
 
-        album.setUsers(getUser());
+        album.setUsers(user);
+        album.setValue(albumPricingService.priceOf(album.getIdSpotify()));
         Album albumSaved = albumRepository.save(album);
+        collectionSummaryService.recordPurchase(user, 1, albumSaved.getValue());
 
-        WalletDto walletDto = new WalletDto(albumSaved.getUsers().getEmail(), albumSaved.getValue());
-        this.template.convertAndSend(queue.getName(), walletDto);
+        // The event id travels with the debit so a redelivered message is applied only once
+        WalletDto walletDto = new WalletDto(albumSaved.getUsers().getEmail(), albumSaved.getValue(), UUID.randomUUID());
+        this.outboxService.enqueue(queue.getName(), walletDto);
 
         return albumSaved;
     }
 
+    // One IN query for duplicates, batched inserts (pooled sequence ids) and a single debit for the whole cart
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<Album> saveAlbums(List<Album> albums) {
+        if (albums.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> idSpotify = new LinkedHashSet<>();
+        for (Album album : albums) {
+            if (!idSpotify.add(album.getIdSpotify())) {
+                throw new DuplicatedIdException("Cannot save album with duplicate ID: " + album.getIdSpotify());
+            }
+        }
+
+        Users user = getUser();
+        List<String> owned = albumRepository.findOwnedIdSpotify(user, idSpotify);
+        if (!owned.isEmpty()) {
+            throw new DuplicatedIdException("Cannot save albums with duplicate IDs: " + owned);
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Album album : albums) {
+            album.setId(null);
+            album.setUsers(user);
+            album.setValue(albumPricingService.priceOf(album.getIdSpotify()));
+            total = total.add(album.getValue());
+        }
+
+        List<Album> saved = albumRepository.saveAll(albums);
+        collectionSummaryService.recordPurchase(user, saved.size(), total);
+        this.outboxService.enqueue(queue.getName(), new WalletDto(user.getEmail(), total, UUID.randomUUID()));
+
+        return saved;
+    }
+
     @Transactional(readOnly = true)
     public List<Album> getCollection(Users user){
         return this.albumRepository.findAllByUsers(user);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<CollectionAlbum> getCollectionPage(Users user, Long after, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<CollectionAlbum> albums = this.albumRepository.findByUsersAndIdGreaterThanOrderByIdAsc(user,
+                after == null ? 0L : after, Limit.of(pageSize));
+
+        Long nextCursor = albums.size() == pageSize ? albums.get(albums.size() - 1).getId() : null;
+        return new CursorPageDto<>(albums, nextCursor);
+    }
+
     @Transactional(propagation = Propagation.REQUIRED)
     public void deleteAlbum(Long id) {
         Album album = albumRepository.findById(id)
@@ -68,13 +123,18 @@ public class AlbumService {
 
         log.info("Album with id {} removed successfully", id);
         albumRepository.delete(album);
+        if (album.getUsers() != null) {
+            collectionSummaryService.recordRemoval(album.getUsers(), album.getValue());
+        }
+    }
+
+    public CollectionSummaryDto getCollectionSummary(Users user) {
+        return collectionSummaryService.getSummary(user);
     }
 
 
     public Users getUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication()
-                .getPrincipal().toString();
-        return usersService.findByEmail(username);
+        return usersService.getUserByContext();
     }
 
 }
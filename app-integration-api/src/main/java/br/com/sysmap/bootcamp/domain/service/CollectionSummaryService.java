@@ -0,0 +1,57 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.entities.CollectionSummary;
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.respository.CollectionSummaryRepository;
+import br.com.sysmap.bootcamp.domain.respository.UsersRepository;
+import br.com.sysmap.bootcamp.dto.CollectionSummaryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Maintains the per-user collection summary row inside the purchase and removal transactions,
+ * with single UPDATE statements so concurrent purchases never lose each other's increments.
+ */
+@RequiredArgsConstructor
+@Service
+public class CollectionSummaryService {
+
+    private final CollectionSummaryRepository collectionSummaryRepository;
+    private final UsersRepository usersRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPurchase(Users user, long count, BigDecimal amount) {
+        LocalDateTime purchasedAt = LocalDateTime.now();
+        if (collectionSummaryRepository.addPurchase(user.getId(), count, amount, purchasedAt) > 0) {
+            return;
+        }
+
+        // First purchase: the user row lock makes a concurrent first purchase wait and then take the update path
+        usersRepository.lockById(user.getId());
+        if (collectionSummaryRepository.addPurchase(user.getId(), count, amount, purchasedAt) == 0) {
+            collectionSummaryRepository.saveAndFlush(CollectionSummary.builder()
+                    .userId(user.getId())
+                    .albumCount(count)
+                    .totalValue(amount)
+                    .lastPurchase(purchasedAt)
+                    .build());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoval(Users user, BigDecimal amount) {
+        collectionSummaryRepository.removeAlbum(user.getId(), amount);
+    }
+
+    @Transactional(readOnly = true)
+    public CollectionSummaryDto getSummary(Users user) {
+        return collectionSummaryRepository.findById(user.getId())
+                .map(summary -> new CollectionSummaryDto(summary.getAlbumCount(), summary.getTotalValue(), summary.getLastPurchase()))
+                .orElseGet(() -> new CollectionSummaryDto(0L, BigDecimal.ZERO, null));
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.entities.OutboxEvent;
+import br.com.sysmap.bootcamp.domain.respository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox: events are stored in the caller's transaction and published later by
+ * {@link #relay()} with publisher confirms, so request threads never talk to RabbitMQ and a
+ * rolled back purchase never emits a debit.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MessageConverter messageConverter;
+    private final RabbitTemplate template;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeout;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String routingKey, Object payload) {
+        Message message = messageConverter.toMessage(payload, new MessageProperties());
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .routingKey(routingKey)
+                .contentType(message.getMessageProperties().getContentType())
+                .payload(message.getBody())
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    // Rows are deleted only after the broker confirmed every message; a failure leaves them for the next run
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findByOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        template.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                MessageProperties properties = new MessageProperties();
+                properties.setContentType(event.getContentType());
+                properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+                properties.setMessageId(String.valueOf(event.getId()));
+                operations.send("", event.getRoutingKey(), new Message(event.getPayload(), properties));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout);
+            return null;
+        });
+
+        outboxEventRepository.deleteAllInBatch(events);
+        log.info("Relayed {} outbox events", events.size());
+        return events.size();
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.sysmap.bootcamp.domain.service;
 
+import br.com.sysmap.bootcamp.config.AuthenticatedUser;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
 import br.com.sysmap.bootcamp.domain.exception.UsernameNotFoundException;
@@ -38,4 +39,13 @@ public class UsersService implements UserDetailsService {
                 .orElseThrow(() -> new EntityNotFoundException("User not fount. E-mail: " + username));
     }
 
+    // Authentication already resolved the user; only principals set by other means (e.g. tests) fall back to a lookup
+    public Users getUserByContext() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.users();
+        }
+        return findByEmail(principal.toString());
+    }
+
 }
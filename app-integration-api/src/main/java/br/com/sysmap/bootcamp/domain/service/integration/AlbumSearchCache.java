@@ -0,0 +1,113 @@
+package br.com.sysmap.bootcamp.domain.service.integration;
+
+import br.com.sysmap.bootcamp.domain.model.AlbumModel;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neovisionaries.i18n.CountryCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Size and TTL bounded cache of Spotify album search pages keyed by normalized query, market,
+ * offset and limit. Concurrent misses on the same key share one upstream call; once an entry is
+ * older than {@code refresh-after} it is still served while a single background reload replaces it.
+ * Serving a full page prefetches the following one, so a client scrolling forward finds it cached.
+ * An offset past {@link #MAX_OFFSET} yields an empty page without calling Spotify.
+ * Upstream calls are asynchronous and go through {@link SpotifyGuard}.
+ */
+@Component
+public class AlbumSearchCache {
+
+    public static final int MAX_LIMIT = 50;
+    public static final int MAX_OFFSET = 1000;
+
+    private final SpotifyApi spotifyApi;
+    private final SpotifyGuard spotifyGuard;
+    private final Counter upstreamCalls;
+    private final Counter prefetches;
+    private final AsyncLoadingCache<SearchKey, List<AlbumModel>> cache;
+
+    public AlbumSearchCache(SpotifyApi spotifyApi,
+                            SpotifyGuard spotifyGuard,
+                            MeterRegistry meterRegistry,
+                            @Value("${album-search.cache.max-size:1000}") long maxSize,
+                            @Value("${album-search.cache.expire-after:10m}") Duration expireAfter,
+                            @Value("${album-search.cache.refresh-after:1m}") Duration refreshAfter) {
+        this.spotifyApi = spotifyApi;
+        this.spotifyGuard = spotifyGuard;
+        this.upstreamCalls = Counter.builder("album.search.upstream.calls")
+                .description("Album searches sent to Spotify")
+                .register(meterRegistry);
+        this.prefetches = Counter.builder("album.search.prefetches")
+                .description("Next album search pages loaded ahead of the client")
+                .register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfter)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .buildAsync((key, executor) -> load(key));
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache.synchronous(), "album-searches");
+    }
+
+    public CompletableFuture<List<AlbumModel>> getAlbumsAsync(String search, int offset, int limit) {
+        return getAlbumsAsync(search, CountryCode.BR, offset, limit);
+    }
+
+    public CompletableFuture<List<AlbumModel>> getAlbumsAsync(String search, CountryCode market, int offset, int limit) {
+        // Spotify serves no results past MAX_OFFSET, so a page beyond it is empty rather than a repeat of the last one
+        if (offset > MAX_OFFSET) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        int pageLimit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        SearchKey key = new SearchKey(normalize(search), market, Math.max(offset, 0), pageLimit);
+
+        CompletableFuture<List<AlbumModel>> page = this.cache.get(key);
+        page.thenAccept(albums -> {
+            if (albums.size() == key.limit()) {
+                prefetch(key.next());
+            }
+        });
+        return page;
+    }
+
+    static String normalize(String search) {
+        if (search == null) {
+            return "";
+        }
+        return Normalizer.normalize(search, Normalizer.Form.NFKC)
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private void prefetch(SearchKey next) {
+        // Only pages served to a client prefetch, so a prefetched page never cascades further
+        if (next.offset() <= MAX_OFFSET && !this.cache.asMap().containsKey(next)) {
+            this.prefetches.increment();
+            this.cache.get(next);
+        }
+    }
+
+    private CompletableFuture<List<AlbumModel>> load(SearchKey key) {
+        this.upstreamCalls.increment();
+        return this.spotifyGuard.call(() -> this.spotifyApi.getAlbumsAsync(key.query(), key.market(), key.offset(), key.limit()))
+                .thenApply(List::copyOf);
+    }
+
+    private record SearchKey(String query, CountryCode market, int offset, int limit) {
+
+        SearchKey next() {
+            return new SearchKey(query, market, offset + limit, limit);
+        }
+    }
+}
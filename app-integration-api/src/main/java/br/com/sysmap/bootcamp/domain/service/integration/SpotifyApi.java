@@ -3,37 +3,50 @@ package br.com.sysmap.bootcamp.domain.service.integration;
 
 import br.com.sysmap.bootcamp.domain.mapper.AlbumMapper;
 import br.com.sysmap.bootcamp.domain.model.AlbumModel;
+import br.com.sysmap.bootcamp.domain.service.AlbumPricingService;
 import com.neovisionaries.i18n.CountryCode;
-import org.apache.hc.core5.http.ParseException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
-import se.michaelthelin.spotify.requests.authorization.client_credentials.ClientCredentialsRequest;
+import se.michaelthelin.spotify.model_objects.specification.AlbumSimplified;
+import se.michaelthelin.spotify.model_objects.specification.Paging;
+import se.michaelthelin.spotify.requests.data.search.simplified.SearchAlbumsRequest;
 
-import java.io.IOException;
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+@RequiredArgsConstructor
 @Service
 public class SpotifyApi {
 
-    private se.michaelthelin.spotify.SpotifyApi spotifyApi = new se.michaelthelin.spotify.SpotifyApi.Builder()
-            .setClientId(/*insert your client id*/)
-            .setClientSecret(/*insert your client secret*/)
-            .build();
-
-    public List<AlbumModel> getAlbums(String search) throws IOException, ParseException, SpotifyWebApiException {
-
-        spotifyApi.setAccessToken(getToken());
-        return AlbumMapper.INSTANCE.toModel(spotifyApi.searchAlbums(search).market(CountryCode.BR)
-                .limit(30)
-                .build().execute().getItems()).stream()
-                .peek(album -> album.setValue(BigDecimal.valueOf(Math.random() * 88.00 + 12.00).setScale(2, BigDecimal.ROUND_HALF_UP))).toList();
+    private final se.michaelthelin.spotify.SpotifyApi spotifyClient;
+    private final SpotifyTokenProvider tokenProvider;
+    private final AlbumPricingService albumPricingService;
+
+    /**
+     * Fetches the token and runs the search without blocking the caller; the returned future only
+     * completes once the whole upstream exchange has, so a guard can hold its permit until then.
+     */
+    public CompletableFuture<List<AlbumModel>> getAlbumsAsync(String search, CountryCode market, int offset, int limit) {
+        return tokenProvider.getTokenAsync()
+                .thenCompose(token -> searchRequest(token, search, market, offset, limit).executeAsync())
+                .thenApply(this::toModel);
+    }
 
+    private SearchAlbumsRequest searchRequest(String token, String search, CountryCode market, int offset, int limit) {
+        // Built per request with its own token so the shared client is never mutated.
+        return new SearchAlbumsRequest.Builder(token)
+                .setDefaults(spotifyClient.getHttpManager(), spotifyClient.getScheme(), spotifyClient.getHost(), spotifyClient.getPort())
+                .q(search)
+                .market(market)
+                .offset(offset)
+                .limit(limit)
+                .build();
     }
 
-    public String getToken() throws IOException, ParseException, SpotifyWebApiException {
-        ClientCredentialsRequest clientCredentialsRequest = spotifyApi.clientCredentials().build();
-        return clientCredentialsRequest.execute().getAccessToken();
+    private List<AlbumModel> toModel(Paging<AlbumSimplified> page) {
+        List<AlbumModel> albums = AlbumMapper.INSTANCE.toModel(page.getItems());
+        albums.forEach(album -> album.setValue(albumPricingService.priceOf(album.getId())));
+        return albums;
     }
 
 }
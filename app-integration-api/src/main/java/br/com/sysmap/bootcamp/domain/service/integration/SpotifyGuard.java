@@ -0,0 +1,143 @@
+package br.com.sysmap.bootcamp.domain.service.integration;
+
+import br.com.sysmap.bootcamp.domain.exception.SpotifyUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import se.michaelthelin.spotify.exceptions.detailed.BadRequestException;
+import se.michaelthelin.spotify.exceptions.detailed.NotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead around asynchronous Spotify calls: at most {@code max-concurrent} calls in flight,
+ * each failed after {@code timeout} but holding its slot until the upstream call ends, and a
+ * circuit breaker that opens after {@code failure-threshold} consecutive upstream failures. While open, calls fail immediately;
+ * after {@code open-duration} a single trial call decides whether it closes again.
+ * Rejections surface as {@link SpotifyUnavailableException} so only album search degrades.
+ */
+@Component
+public class SpotifyGuard {
+
+    private static final long CLOSED = 0L;
+
+    private final Semaphore permits;
+    private final Duration timeout;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntil = new AtomicLong(CLOSED);
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private final Counter rejectedOpen;
+    private final Counter rejectedSaturated;
+    private final Counter timedOut;
+
+    public SpotifyGuard(MeterRegistry meterRegistry,
+                        @Value("${spotify.guard.max-concurrent:16}") int maxConcurrent,
+                        @Value("${spotify.guard.timeout:5s}") Duration timeout,
+                        @Value("${spotify.guard.failure-threshold:5}") int failureThreshold,
+                        @Value("${spotify.guard.open-duration:30s}") Duration openDuration) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.timeout = timeout;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.rejectedOpen = rejections(meterRegistry, "circuit-open");
+        this.rejectedSaturated = rejections(meterRegistry, "saturated");
+        this.timedOut = rejections(meterRegistry, "timeout");
+        Gauge.builder("spotify.guard.circuit.open", this, guard -> guard.isOpen() ? 1 : 0)
+                .description("1 while Spotify calls are short-circuited")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        boolean trial = false;
+        if (openUntil.get() != CLOSED) {
+            if (isOpen() || !(trial = trialInFlight.compareAndSet(false, true))) {
+                rejectedOpen.increment();
+                return CompletableFuture.failedFuture(new SpotifyUnavailableException("Spotify search is temporarily unavailable"));
+            }
+        }
+        if (!permits.tryAcquire()) {
+            if (trial) {
+                trialInFlight.set(false);
+            }
+            rejectedSaturated.increment();
+            return CompletableFuture.failedFuture(new SpotifyUnavailableException("Too many concurrent Spotify searches"));
+        }
+
+        CompletableFuture<T> upstream;
+        try {
+            upstream = call.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+
+        // The permit follows the upstream call itself: a caller that timed out must not free a slot
+        // while its HTTP exchange is still running. The timeout only applies to a copy.
+        upstream.whenComplete((value, error) -> permits.release());
+
+        CompletableFuture<T> guarded = new CompletableFuture<>();
+        upstream.copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error == null) {
+                recordSuccess();
+                guarded.complete(value);
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (isUpstreamFailure(cause)) {
+                recordFailure();
+            } else {
+                recordSuccess();
+            }
+            if (cause instanceof TimeoutException) {
+                timedOut.increment();
+                guarded.completeExceptionally(new SpotifyUnavailableException("Spotify search timed out", cause));
+            } else {
+                guarded.completeExceptionally(cause);
+            }
+        });
+        return guarded;
+    }
+
+    public boolean isOpen() {
+        long until = openUntil.get();
+        return until != CLOSED && System.nanoTime() - until < 0;
+    }
+
+    private void recordSuccess() {
+        consecutiveFailures.set(0);
+        openUntil.set(CLOSED);
+        trialInFlight.set(false);
+    }
+
+    private void recordFailure() {
+        if (openUntil.get() != CLOSED || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openUntil.set((System.nanoTime() + openDuration.toNanos()) | 1L);
+            trialInFlight.set(false);
+        }
+    }
+
+    private static boolean isUpstreamFailure(Throwable cause) {
+        // A rejected query is the caller's problem, not a sign that Spotify is unhealthy.
+        return !(cause instanceof BadRequestException || cause instanceof NotFoundException);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("spotify.guard.rejected")
+                .description("Spotify calls failed fast by the guard")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.sysmap.bootcamp.domain.service.integration;
+
+import org.apache.hc.core5.http.ParseException;
+import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
+import se.michaelthelin.spotify.model_objects.credentials.ClientCredentials;
+import se.michaelthelin.spotify.requests.authorization.client_credentials.ClientCredentialsRequest;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Caches the client-credentials access token until shortly before it expires.
+ * Inside the refresh window callers keep the still valid token while one background
+ * refresh runs; once expired, concurrent callers all wait on that same single request.
+ */
+public class SpotifyTokenProvider {
+
+    private final Supplier<ClientCredentialsRequest> requestFactory;
+    private final Duration refreshSkew;
+    private final Clock clock;
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spotify-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
+
+    private volatile CachedToken current;
+
+    public SpotifyTokenProvider(Supplier<ClientCredentialsRequest> requestFactory, Duration refreshSkew) {
+        this(requestFactory, refreshSkew, Clock.systemUTC());
+    }
+
+    public SpotifyTokenProvider(Supplier<ClientCredentialsRequest> requestFactory, Duration refreshSkew, Clock clock) {
+        this.requestFactory = requestFactory;
+        this.refreshSkew = refreshSkew;
+        this.clock = clock;
+    }
+
+    /**
+     * Completes immediately with a still valid token; otherwise completes when the shared refresh
+     * does, without blocking the calling thread.
+     */
+    public CompletableFuture<String> getTokenAsync() {
+        CachedToken token = current;
+        Instant now = clock.instant();
+
+        if (token != null && now.isBefore(token.expiresAt())) {
+            if (!now.isBefore(token.refreshAt())) {
+                refresh();
+            }
+            return CompletableFuture.completedFuture(token.value());
+        }
+        return refresh().thenApply(CachedToken::value);
+    }
+
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<CachedToken> refresh() {
+        while (true) {
+            CompletableFuture<CachedToken> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+
+            CompletableFuture<CachedToken> refresh = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, refresh)) {
+                refreshExecutor.execute(() -> {
+                    try {
+                        CachedToken token = fetch();
+                        current = token;
+                        refresh.complete(token);
+                    } catch (Exception e) {
+                        refresh.completeExceptionally(e);
+                    } finally {
+                        inFlight.compareAndSet(refresh, null);
+                    }
+                });
+                return refresh;
+            }
+        }
+    }
+
+    private CachedToken fetch() throws IOException, ParseException, SpotifyWebApiException {
+        ClientCredentials credentials = requestFactory.get().execute();
+
+        Instant now = clock.instant();
+        Instant expiresAt = now.plusSeconds(credentials.getExpiresIn());
+        Instant refreshAt = expiresAt.minus(refreshSkew);
+        return new CachedToken(credentials.getAccessToken(), refreshAt.isBefore(now) ? now : refreshAt, expiresAt);
+    }
+
+    private record CachedToken(String value, Instant refreshAt, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.sysmap.bootcamp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class CollectionSummaryDto {
+
+    private long albumCount;
+    private BigDecimal totalValue;
+    private LocalDateTime lastPurchase;
+}
@@ -0,0 +1,14 @@
+package br.com.sysmap.bootcamp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> items;
+    private Long nextCursor;
+}
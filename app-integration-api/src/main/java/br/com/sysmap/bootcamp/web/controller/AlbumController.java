@@ -5,8 +5,10 @@ import br.com.sysmap.bootcamp.domain.entities.Album;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 
 import br.com.sysmap.bootcamp.domain.model.AlbumModel;
+import br.com.sysmap.bootcamp.domain.model.CollectionAlbum;
 import br.com.sysmap.bootcamp.domain.service.AlbumService;
-import br.com.sysmap.bootcamp.domain.service.UsersService;
+import br.com.sysmap.bootcamp.dto.CollectionSummaryDto;
+import br.com.sysmap.bootcamp.dto.CursorPageDto;
 import br.com.sysmap.bootcamp.web.exception.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,13 +16,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.apache.hc.core5.http.ParseException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import se.michaelthelin.spotify.exceptions.SpotifyWebApiException;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "Albums", description = "Albums API")
 @CrossOrigin(origins = "*")
@@ -30,18 +30,21 @@ import java.util.List;
 public class AlbumController {
 
     private final AlbumService albumService;
-    private final UsersService usersService;
 
-    @Operation(summary = "Get albums from Spotify service by Text parameter", description = "Retrieve albums from Spotify based on search query.",
+    @Operation(summary = "Get albums from Spotify service by Text parameter", description = "Retrieve a page of albums from Spotify based on search query. Limit is capped at 50; an offset above 1000 returns an empty page.",
             responses =  {
                     @ApiResponse(responseCode = "200", description = "Successfully retrieved albums",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = AlbumModel.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid search query provided",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "503", description = "Spotify is slow or unavailable",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
     })
     @GetMapping("/all")
-    public ResponseEntity<List<AlbumModel>> getAlbums(@RequestParam("search") String search) throws IOException, ParseException, SpotifyWebApiException {
-        return ResponseEntity.ok(this.albumService.getAlbums(search));
+    public CompletableFuture<ResponseEntity<List<AlbumModel>>> getAlbums(@RequestParam("search") String search,
+                                                                         @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                                         @RequestParam(value = "limit", defaultValue = "30") int limit) {
+        return this.albumService.getAlbums(search, offset, limit).thenApply(ResponseEntity::ok);
     }
 
     @Operation(summary = "Buy an album", description = "Feature that allows the user to purchase an album",
@@ -56,6 +59,18 @@ public class AlbumController {
         return ResponseEntity.ok(this.albumService.saveAlbum(album));
     }
 
+    @Operation(summary = "Buy several albums at once", description = "Purchases every album in the cart with a single wallet debit",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Resources created successfully",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Album.class))),
+                    @ApiResponse(responseCode = "409", description = "An album in the cart is repeated or already in the collection",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
+            })
+    @PostMapping("/sale/batch")
+    public ResponseEntity<List<Album>> saveAlbums(@RequestBody List<Album> albums) {
+        return ResponseEntity.ok(this.albumService.saveAlbums(albums));
+    }
+
 
     @Operation(summary = "Get all albums from my collection", description = "Retrieve albums in user's collection",
             responses =  {
@@ -71,6 +86,27 @@ public class AlbumController {
         return ResponseEntity.ok(albumService.getCollection(users));
     }
 
+    @Operation(summary = "Page my collection", description = "Keyset paginated listing of the user's albums ordered by id. Size is capped at 100.",
+            responses =  {
+                    @ApiResponse(responseCode = "200", description = "Page of albums and the cursor of the next page",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class)))
+    })
+    @GetMapping("/my-collection/page")
+    public ResponseEntity<CursorPageDto<CollectionAlbum>> getAlbumCollectionPage(@RequestParam(value = "after", required = false) Long after,
+                                                                                 @RequestParam(value = "size", defaultValue = "50") int size) {
+        return ResponseEntity.ok(albumService.getCollectionPage(albumService.getUser(), after, size));
+    }
+
+    @Operation(summary = "Summarize my collection", description = "Number of albums owned, total spent on them and the time of the last purchase",
+            responses =  {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved the collection summary",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CollectionSummaryDto.class)))
+    })
+    @GetMapping("/my-collection/summary")
+    public ResponseEntity<CollectionSummaryDto> getAlbumCollectionSummary() {
+        return ResponseEntity.ok(albumService.getCollectionSummary(albumService.getUser()));
+    }
+
     @Operation(summary = "Remove an album from collection", description = "Remove an album from user's collection",
             responses =  {
                     @ApiResponse(responseCode = "200", description = "Album removed successfully"),
@@ -3,6 +3,7 @@ package br.com.sysmap.bootcamp.web.exception;
 
 import br.com.sysmap.bootcamp.domain.exception.DuplicatedIdException;
 import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
+import br.com.sysmap.bootcamp.domain.exception.SpotifyUnavailableException;
 import br.com.sysmap.bootcamp.domain.exception.UsernameNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
@@ -32,4 +33,13 @@ public class ApiExceptionHandler {
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new ErrorMessage(request, HttpStatus.CONFLICT, ex.getMessage()));
     }
+
+    @ExceptionHandler(SpotifyUnavailableException.class)
+    public ResponseEntity<ErrorMessage> spotifyUnavailableException(RuntimeException ex, HttpServletRequest request) {
+        log.warn("API Error - {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
 }
@@ -0,0 +1,42 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Creates the pooled id sequences (increment 50, matching the entities' allocationSize) and moves
+ * each one past the ids already handed out by the IDENTITY columns. This is a Java migration
+ * because PostgreSQL only accepts a literal in ALTER SEQUENCE ... RESTART WITH.
+ */
+public class V3__Create_id_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    // sequence -> table whose ids it generates
+    private static final Map<String, String> SEQUENCES = Map.of("ALBUM_SEQ", "ALBUM");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (Map.Entry<String, String> sequence : SEQUENCES.entrySet()) {
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence.getKey()
+                        + " START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+
+                long maxId;
+                try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(ID), 0) FROM " + sequence.getValue())) {
+                    resultSet.next();
+                    maxId = resultSet.getLong(1);
+                }
+
+                // Hibernate's pooled optimizer hands out (value - 49 .. value), so the first value must be maxId + 50
+                if (maxId > 0) {
+                    statement.execute("ALTER SEQUENCE " + sequence.getKey() + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Creates the outbox table, which Hibernate used to generate, and its pooled id sequence (increment 50,
+ * matching the entity's allocationSize). Like V3 this is a Java migration so the sequence can start past
+ * the ids of rows still waiting for the relay on databases where the table already exists.
+ */
+public class V6__Create_outbox_event extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS OUTBOX_EVENT ("
+                    + " ID           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+                    + " ROUTING_KEY  VARCHAR(100) NOT NULL,"
+                    + " CONTENT_TYPE VARCHAR(100) NOT NULL,"
+                    + " PAYLOAD      BYTEA NOT NULL,"
+                    + " CREATED_AT   TIMESTAMP(6) NOT NULL"
+                    + ")");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS OUTBOX_EVENT_SEQ START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(ID), 0) FROM OUTBOX_EVENT")) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+
+            // Hibernate's pooled optimizer hands out (value - 49 .. value), so the first value must be maxId + 50
+            if (maxId > 0) {
+                statement.execute("ALTER SEQUENCE OUTBOX_EVENT_SEQ RESTART WITH " + (maxId + ALLOCATION_SIZE));
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Table previously created by Hibernate; IF NOT EXISTS keeps this safe on databases that already have it.
+CREATE TABLE IF NOT EXISTS ALBUM (
+    ID          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    NAME        VARCHAR(150) NOT NULL,
+    ID_SPOTIFY  VARCHAR(100) NOT NULL,
+    ARTIST_NAME VARCHAR(150) NOT NULL,
+    IMAGE_URL   VARCHAR(150) NOT NULL,
+    VALUE_ALBUM NUMERIC(38, 2) NOT NULL,
+    ID_USER     BIGINT
+);
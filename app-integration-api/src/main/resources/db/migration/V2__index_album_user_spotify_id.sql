@@ -0,0 +1,2 @@
+-- AlbumRepository.existsByUsersAndIdSpotify, the batch duplicate check and findAllByUsers (leading column)
+CREATE INDEX IF NOT EXISTS IX_ALBUM_USER_SPOTIFY ON ALBUM (ID_USER, ID_SPOTIFY);
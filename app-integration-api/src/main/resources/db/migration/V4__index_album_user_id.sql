@@ -0,0 +1,2 @@
+-- AlbumRepository.findByUsersAndIdGreaterThanOrderByIdAsc: seek to the cursor and read the page in index order
+CREATE INDEX IF NOT EXISTS IX_ALBUM_USER_ID ON ALBUM (ID_USER, ID);
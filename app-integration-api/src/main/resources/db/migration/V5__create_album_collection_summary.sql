@@ -0,0 +1,15 @@
+-- One row per collector, kept up to date by AlbumService instead of aggregating ALBUM on every read
+CREATE TABLE IF NOT EXISTS ALBUM_COLLECTION_SUMMARY (
+    ID_USER       BIGINT PRIMARY KEY,
+    ALBUM_COUNT   BIGINT         NOT NULL,
+    TOTAL_VALUE   NUMERIC(38, 2) NOT NULL,
+    LAST_PURCHASE TIMESTAMP
+);
+
+-- Albums bought before this migration carry no purchase time, so LAST_PURCHASE starts empty
+INSERT INTO ALBUM_COLLECTION_SUMMARY (ID_USER, ALBUM_COUNT, TOTAL_VALUE, LAST_PURCHASE)
+SELECT a.ID_USER, COUNT(*), SUM(a.VALUE_ALBUM), NULL
+FROM ALBUM a
+WHERE a.ID_USER IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM ALBUM_COLLECTION_SUMMARY s WHERE s.ID_USER = a.ID_USER)
+GROUP BY a.ID_USER;
@@ -0,0 +1,112 @@
+package br.com.sysmap.bootcamp.benchmark;
+
+import br.com.sysmap.bootcamp.Bootcamp2024IntegrationApi;
+import br.com.sysmap.bootcamp.domain.entities.Album;
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.respository.UsersRepository;
+import br.com.sysmap.bootcamp.domain.service.AlbumService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of buying {@code albums} albums as N calls to {@code saveAlbum} versus one
+ * {@code saveAlbums} cart, against the in-memory H2 test database.
+ * Scores are per purchase of the whole set; divide by {@code albums} for the per-album cost.
+ * Run with {@code main} from the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AlbumPurchaseBenchmark {
+
+    private static final String EMAIL = "bench@test.com";
+
+    @Param({"1", "10", "100"})
+    private int albums;
+
+    private ConfigurableApplicationContext context;
+    private AlbumService albumService;
+    private long sequence;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(Bootcamp2024IntegrationApi.class)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        albumService = context.getBean(AlbumService.class);
+
+        UsersRepository usersRepository = context.getBean(UsersRepository.class);
+        if (usersRepository.findByEmail(EMAIL).isEmpty()) {
+            usersRepository.save(Users.builder().email(EMAIL).password("bench").build());
+        }
+
+        // Benchmark threads are not the setup thread, so the authentication has to be visible globally
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext()
+                .setAuthentication(UsernamePasswordAuthenticationToken.authenticated(EMAIL, null, List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public int singlePurchases() {
+        List<Album> cart = cart();
+        for (Album album : cart) {
+            albumService.saveAlbum(album);
+        }
+        return cart.size();
+    }
+
+    @Benchmark
+    public int batchPurchase() {
+        return albumService.saveAlbums(cart()).size();
+    }
+
+    private List<Album> cart() {
+        List<Album> cart = new ArrayList<>(albums);
+        for (int i = 0; i < albums; i++) {
+            long id = ++sequence;
+            cart.add(Album.builder()
+                    .idSpotify("bench-" + id)
+                    .name("Album " + id)
+                    .artistName("Artist " + id)
+                    .imageUrl("https://i.scdn.co/image/" + id)
+                    .build());
+        }
+        return cart;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AlbumPurchaseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.sysmap.bootcamp.domain.respository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should check album ownership through the composite index")
+    public void shouldUseUserSpotifyIndexForOwnershipCheck() {
+        String plan = explain("SELECT ID FROM ALBUM WHERE ID_USER = 1 AND ID_SPOTIFY = 'abc'");
+
+        assertTrue(plan.contains("IX_ALBUM_USER_SPOTIFY"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    @DisplayName("Should check a cart for owned albums through the composite index")
+    public void shouldUseUserSpotifyIndexForBatchCheck() {
+        String plan = explain("SELECT ID_SPOTIFY FROM ALBUM WHERE ID_USER = 1 AND ID_SPOTIFY IN ('a', 'b', 'c')");
+
+        assertTrue(plan.contains("IX_ALBUM_USER_SPOTIFY"), plan);
+    }
+
+    @Test
+    @DisplayName("Should page a collection in index order without sorting")
+    public void shouldUseUserIdIndexForCollectionPage() {
+        String plan = explain("SELECT ID, NAME FROM ALBUM WHERE ID_USER = 1 AND ID > 10 ORDER BY ID FETCH FIRST 50 ROWS ONLY");
+
+        assertTrue(plan.contains("IX_ALBUM_USER_ID"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
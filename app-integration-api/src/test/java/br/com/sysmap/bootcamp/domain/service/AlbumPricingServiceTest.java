@@ -0,0 +1,61 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlbumPricingServiceTest {
+
+    private static final BigDecimal MIN = new BigDecimal("12.00");
+    private static final BigDecimal MAX = new BigDecimal("100.00");
+
+    private AlbumPricingService pricingService(String salt) {
+        return new AlbumPricingService(new SimpleMeterRegistry(), MIN, MAX, salt, 1000);
+    }
+
+    @Test
+    @DisplayName("Should return the same price for the same album across instances")
+    public void shouldReturnStablePrice() {
+        BigDecimal price = pricingService("salt").priceOf("4aawyAB9vmqN3uQ7FjRGTy");
+
+        assertEquals(price, pricingService("salt").priceOf("4aawyAB9vmqN3uQ7FjRGTy"));
+        assertEquals(2, price.scale());
+    }
+
+    @Test
+    @DisplayName("Should keep every price inside the configured range")
+    public void shouldKeepPricesInRange() {
+        AlbumPricingService pricingService = pricingService("salt");
+        Set<BigDecimal> prices = new HashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            BigDecimal price = pricingService.priceOf("album-" + i);
+            assertTrue(price.compareTo(MIN) >= 0 && price.compareTo(MAX) <= 0, "Out of range: " + price);
+            prices.add(price);
+        }
+
+        assertTrue(prices.size() > 500);
+    }
+
+    @Test
+    @DisplayName("Should reprice albums when the salt changes")
+    public void shouldRepriceWhenSaltChanges() {
+        assertNotEquals(pricingService("a").priceOf("album-1"), pricingService("b").priceOf("album-1"));
+    }
+
+    @Test
+    @DisplayName("Should reject a minimum greater than the maximum")
+    public void shouldRejectInvalidRange() {
+        assertThrows(IllegalStateException.class,
+                () -> new AlbumPricingService(new SimpleMeterRegistry(), MAX, MIN, "salt", 1000));
+    }
+}
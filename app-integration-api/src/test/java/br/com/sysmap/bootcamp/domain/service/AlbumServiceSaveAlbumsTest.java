@@ -0,0 +1,119 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.entities.Album;
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.exception.DuplicatedIdException;
+import br.com.sysmap.bootcamp.domain.respository.AlbumRepository;
+import br.com.sysmap.bootcamp.domain.respository.UsersRepository;
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:album-cart;DB_CLOSE_DELAY=-1")
+class AlbumServiceSaveAlbumsTest {
+
+    private static final BigDecimal CLIENT_VALUE = new BigDecimal("0.01");
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private AlbumPricingService albumPricingService;
+
+    @MockBean
+    private UsersService usersService;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    private Users user;
+
+    @BeforeEach
+    void setup() {
+        user = usersRepository.save(Users.builder().email(UUID.randomUUID() + "@cart.com").password("test").build());
+        when(usersService.getUserByContext()).thenReturn(user);
+    }
+
+    @Test
+    @DisplayName("Should price every album server side and enqueue a single debit for the cart total")
+    public void shouldPriceServerSideAndDebitTotalOnce() {
+        List<Album> saved = albumService.saveAlbums(cart("cart-1", "cart-2", "cart-3"));
+
+        assertEquals(3, saved.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (Album album : saved) {
+            assertNotNull(album.getId());
+            assertEquals(albumPricingService.priceOf(album.getIdSpotify()), album.getValue());
+            total = total.add(album.getValue());
+        }
+        assertTrue(total.compareTo(CLIENT_VALUE.multiply(BigDecimal.valueOf(3))) > 0);
+
+        ArgumentCaptor<WalletDto> debit = ArgumentCaptor.forClass(WalletDto.class);
+        verify(outboxService, times(1)).enqueue(eq("WalletQueue"), debit.capture());
+        assertEquals(user.getEmail(), debit.getValue().getEmail());
+        assertEquals(0, total.compareTo(debit.getValue().getValue()));
+        assertNotNull(debit.getValue().getEventId());
+    }
+
+    @Test
+    @DisplayName("Should reject a cart that contains the same album twice without saving or debiting")
+    public void shouldRejectDuplicateInCart() {
+        assertThrows(DuplicatedIdException.class, () -> albumService.saveAlbums(cart("dup-1", "dup-2", "dup-1")));
+
+        assertEquals(0, albumRepository.findAllByUsers(user).size());
+        verify(outboxService, never()).enqueue(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a cart with an album the user already owns without saving or debiting")
+    public void shouldRejectAlreadyOwnedAlbum() {
+        albumService.saveAlbums(cart("owned-1"));
+
+        assertThrows(DuplicatedIdException.class, () -> albumService.saveAlbums(cart("owned-2", "owned-1")));
+
+        assertEquals(List.of("owned-1"), albumRepository.findAllByUsers(user).stream().map(Album::getIdSpotify).toList());
+        verify(outboxService, times(1)).enqueue(anyString(), any());
+    }
+
+    private static List<Album> cart(String... idSpotify) {
+        List<Album> albums = new ArrayList<>();
+        for (String id : idSpotify) {
+            albums.add(Album.builder()
+                    .idSpotify(id)
+                    .name("Album " + id)
+                    .artistName("Artist")
+                    .imageUrl("https://image/" + id)
+                    .value(CLIENT_VALUE)
+                    .build());
+        }
+        return albums;
+    }
+}
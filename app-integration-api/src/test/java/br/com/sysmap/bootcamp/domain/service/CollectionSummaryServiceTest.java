@@ -0,0 +1,57 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.respository.UsersRepository;
+import br.com.sysmap.bootcamp.dto.CollectionSummaryDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:collection-summary;DB_CLOSE_DELAY=-1")
+class CollectionSummaryServiceTest {
+
+    @Autowired
+    private CollectionSummaryService collectionSummaryService;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should return an empty summary for a user without purchases")
+    public void shouldReturnEmptySummaryWithoutPurchases() {
+        Users user = usersRepository.save(Users.builder().email("empty@summary.com").password("test").build());
+
+        CollectionSummaryDto summary = collectionSummaryService.getSummary(user);
+
+        assertEquals(0L, summary.getAlbumCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary.getTotalValue()));
+        assertNull(summary.getLastPurchase());
+    }
+
+    @Test
+    @DisplayName("Should add purchases and subtract removals from the summary")
+    public void shouldMaintainSummaryIncrementally() {
+        Users user = usersRepository.save(Users.builder().email("collector@summary.com").password("test").build());
+
+        transactionTemplate.executeWithoutResult(status -> collectionSummaryService.recordPurchase(user, 1, new BigDecimal("20.00")));
+        transactionTemplate.executeWithoutResult(status -> collectionSummaryService.recordPurchase(user, 2, new BigDecimal("35.50")));
+        transactionTemplate.executeWithoutResult(status -> collectionSummaryService.recordRemoval(user, new BigDecimal("20.00")));
+
+        CollectionSummaryDto summary = collectionSummaryService.getSummary(user);
+
+        assertEquals(2L, summary.getAlbumCount());
+        assertEquals(0, new BigDecimal("35.50").compareTo(summary.getTotalValue()));
+        assertNotNull(summary.getLastPurchase());
+    }
+}
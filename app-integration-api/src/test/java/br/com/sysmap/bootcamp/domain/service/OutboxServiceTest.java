@@ -0,0 +1,158 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.respository.OutboxEventRepository;
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import org.hibernate.LockOptions;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.jpa.database-platform=br.com.sysmap.bootcamp.domain.service.OutboxServiceTest$SkipLockedH2Dialect",
+        "outbox.relay.interval-ms=3600000"})
+class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @BeforeEach
+    void setup() {
+        // The relay publishes through invoke, so the callback runs against the mock as its channel-bound operations
+        doAnswer(invocation -> invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate))
+                .when(rabbitTemplate).invoke(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should publish enqueued events and delete them once the broker confirmed")
+    void shouldPublishAndDeleteConfirmedEvents() {
+        enqueue(2);
+
+        outboxService.relay();
+
+        verify(rabbitTemplate, times(2)).send(eq(""), eq("WalletQueue"), any(Message.class));
+        verify(rabbitTemplate).waitForConfirmsOrDie(anyLong());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should keep events for the next run when the broker does not confirm them")
+    void shouldKeepEventsWhenPublishIsNotConfirmed() {
+        enqueue(1);
+        doThrow(new AmqpException("Nack received")).when(rabbitTemplate).waitForConfirmsOrDie(anyLong());
+
+        assertThrows(AmqpException.class, () -> outboxService.relay());
+        assertEquals(1, outboxEventRepository.count());
+
+        reset(rabbitTemplate);
+        setup();
+        outboxService.relay();
+
+        verify(rabbitTemplate).send(eq(""), eq("WalletQueue"), any(Message.class));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should skip events locked by another relay instead of waiting for them")
+    void shouldSkipEventsLockedByAnotherRelay() throws Exception {
+        enqueue(1);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> otherRelay = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.findByOrderByIdAsc(Limit.of(100));
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        locked.await(10, TimeUnit.SECONDS);
+
+        try {
+            outboxService.relay();
+            verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class));
+        } finally {
+            release.countDown();
+            otherRelay.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    private void enqueue(int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++) {
+                outboxService.enqueue("WalletQueue", new WalletDto("outbox@test.com", BigDecimal.TEN, UUID.randomUUID()));
+            }
+        });
+    }
+
+    // H2 understands FOR UPDATE SKIP LOCKED, but Hibernate's H2Dialect renders a plain FOR UPDATE, unlike PostgreSQLDialect
+    public static class SkipLockedH2Dialect extends H2Dialect {
+
+        @Override
+        public boolean supportsSkipLocked() {
+            return true;
+        }
+
+        @Override
+        public String getForUpdateSkipLockedString() {
+            return " for update skip locked";
+        }
+
+        @Override
+        public String getForUpdateSkipLockedString(String aliases) {
+            return getForUpdateSkipLockedString();
+        }
+
+        @Override
+        public String getWriteLockString(int timeout) {
+            return timeout == LockOptions.SKIP_LOCKED ? getForUpdateSkipLockedString() : super.getWriteLockString(timeout);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.sysmap.bootcamp.domain.service.integration;
+
+import br.com.sysmap.bootcamp.domain.model.AlbumModel;
+import com.neovisionaries.i18n.CountryCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlbumSearchCacheTest {
+
+    private final SpotifyApi spotifyApi = mock(SpotifyApi.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SpotifyGuard spotifyGuard = new SpotifyGuard(meterRegistry, 16, Duration.ofSeconds(5), 5, Duration.ofSeconds(30));
+
+    private AlbumSearchCache albumSearchCache;
+
+    @Test
+    @DisplayName("Should send one upstream search for concurrent requests of the same normalized query")
+    public void shouldCoalesceConcurrentSearches() throws Exception {
+        List<AlbumModel> albums = List.of(album("1"));
+        when(spotifyApi.getAlbumsAsync("the beatles", CountryCode.BR, 0, 30)).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync(() -> albums, CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS)));
+        albumSearchCache = new AlbumSearchCache(spotifyApi, spotifyGuard, meterRegistry, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+        List<String> searches = List.of("The Beatles", "  the   beatles ", "THE BEATLES");
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<AlbumModel>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 12; i++) {
+                String search = searches.get(i % searches.size());
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return search(search);
+                }));
+            }
+            start.countDown();
+
+            for (Future<List<AlbumModel>> result : results) {
+                assertEquals(albums, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(spotifyApi, times(1)).getAlbumsAsync("the beatles", CountryCode.BR, 0, 30);
+        assertEquals(1.0, meterRegistry.get("album.search.upstream.calls").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should serve the stale result while revalidating it in the background")
+    public void shouldServeStaleWhileRevalidating() throws Exception {
+        List<AlbumModel> first = List.of(album("1"));
+        List<AlbumModel> second = List.of(album("2"));
+        CompletableFuture<List<AlbumModel>> reload = new CompletableFuture<>();
+        when(spotifyApi.getAlbumsAsync("queen", CountryCode.BR, 0, 30))
+                .thenReturn(CompletableFuture.completedFuture(first), reload);
+        albumSearchCache = new AlbumSearchCache(spotifyApi, spotifyGuard, meterRegistry, 100,
+                Duration.ofMinutes(10), Duration.ofMillis(50));
+
+        assertEquals(first, search("queen"));
+        Thread.sleep(100);
+
+        // The stale read starts the reload, which stays pending until completed below
+        assertEquals(first, search("queen"));
+        verify(spotifyApi, timeout(5000).times(2)).getAlbumsAsync("queen", CountryCode.BR, 0, 30);
+        assertEquals(first, search("queen"));
+
+        reload.complete(second);
+        List<AlbumModel> refreshed = search("queen");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!second.equals(refreshed) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            refreshed = search("queen");
+        }
+
+        assertEquals(second, refreshed);
+        verify(spotifyApi, times(2)).getAlbumsAsync("queen", CountryCode.BR, 0, 30);
+    }
+
+    @Test
+    @DisplayName("Should prefetch the next page once a full page is served")
+    public void shouldPrefetchNextPage() throws Exception {
+        List<AlbumModel> firstPage = List.of(album("1"), album("2"));
+        List<AlbumModel> secondPage = List.of(album("3"));
+        when(spotifyApi.getAlbumsAsync("queen", CountryCode.BR, 0, 2)).thenReturn(CompletableFuture.completedFuture(firstPage));
+        when(spotifyApi.getAlbumsAsync("queen", CountryCode.BR, 2, 2)).thenReturn(CompletableFuture.completedFuture(secondPage));
+        albumSearchCache = new AlbumSearchCache(spotifyApi, spotifyGuard, meterRegistry, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+        assertEquals(firstPage, albumSearchCache.getAlbumsAsync("Queen", 0, 2).get(5, TimeUnit.SECONDS));
+        verify(spotifyApi, timeout(5000)).getAlbumsAsync("queen", CountryCode.BR, 2, 2);
+
+        assertEquals(secondPage, albumSearchCache.getAlbumsAsync("queen", 2, 2).get(5, TimeUnit.SECONDS));
+        verify(spotifyApi, times(1)).getAlbumsAsync("queen", CountryCode.BR, 2, 2);
+        verify(spotifyApi, never()).getAlbumsAsync("queen", CountryCode.BR, 4, 2);
+        assertEquals(1.0, meterRegistry.get("album.search.prefetches").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should cap the page size at the Spotify maximum")
+    public void shouldCapLimit() throws Exception {
+        when(spotifyApi.getAlbumsAsync("queen", CountryCode.BR, 0, 50)).thenReturn(CompletableFuture.completedFuture(List.of()));
+        albumSearchCache = new AlbumSearchCache(spotifyApi, spotifyGuard, meterRegistry, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+        assertEquals(List.of(), albumSearchCache.getAlbumsAsync("queen", -5, 500).get(5, TimeUnit.SECONDS));
+        verify(spotifyApi).getAlbumsAsync("queen", CountryCode.BR, 0, 50);
+    }
+
+    @Test
+    @DisplayName("Should return an empty page past the Spotify maximum offset without calling Spotify")
+    public void shouldReturnEmptyPagePastMaxOffset() throws Exception {
+        albumSearchCache = new AlbumSearchCache(spotifyApi, spotifyGuard, meterRegistry, 100,
+                Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+        assertEquals(List.of(), albumSearchCache.getAlbumsAsync("queen", AlbumSearchCache.MAX_OFFSET + 1, 30).get(5, TimeUnit.SECONDS));
+        verify(spotifyApi, never()).getAlbumsAsync(anyString(), any(), anyInt(), anyInt());
+    }
+
+    private List<AlbumModel> search(String search) throws Exception {
+        return albumSearchCache.getAlbumsAsync(search, 0, 30).get(5, TimeUnit.SECONDS);
+    }
+
+    private static AlbumModel album(String id) {
+        AlbumModel album = new AlbumModel();
+        album.setId(id);
+        album.setName("album " + id);
+        return album;
+    }
+}
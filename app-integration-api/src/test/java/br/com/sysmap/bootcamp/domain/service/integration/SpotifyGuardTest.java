@@ -0,0 +1,91 @@
+package br.com.sysmap.bootcamp.domain.service.integration;
+
+import br.com.sysmap.bootcamp.domain.exception.SpotifyUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpotifyGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should fail fast when the concurrency limit is reached")
+    public void shouldRejectWhenSaturated() {
+        SpotifyGuard guard = new SpotifyGuard(meterRegistry, 1, Duration.ofSeconds(5), 5, Duration.ofSeconds(30));
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = guard.call(() -> pending);
+        CompletableFuture<String> second = guard.call(() -> CompletableFuture.completedFuture("second"));
+
+        assertCause(SpotifyUnavailableException.class, second);
+        pending.complete("first");
+        assertEquals("first", first.join());
+        assertEquals("third", guard.call(() -> CompletableFuture.completedFuture("third")).join());
+    }
+
+    @Test
+    @DisplayName("Should fail a slow call with SpotifyUnavailableException after the timeout")
+    public void shouldTimeOutSlowCalls() {
+        SpotifyGuard guard = new SpotifyGuard(meterRegistry, 4, Duration.ofMillis(50), 5, Duration.ofSeconds(30));
+
+        assertCause(SpotifyUnavailableException.class, guard.call(CompletableFuture::new));
+        assertEquals(1.0, meterRegistry.get("spotify.guard.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep the permit of a timed out call until the upstream call completes")
+    public void shouldHoldPermitUntilUpstreamCompletes() {
+        SpotifyGuard guard = new SpotifyGuard(meterRegistry, 1, Duration.ofMillis(50), 5, Duration.ofSeconds(30));
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        assertCause(SpotifyUnavailableException.class, guard.call(() -> pending));
+        assertCause(SpotifyUnavailableException.class, guard.call(() -> CompletableFuture.completedFuture("rejected")));
+        assertEquals(1.0, meterRegistry.get("spotify.guard.rejected").tag("reason", "saturated").counter().count());
+
+        pending.complete("late");
+        assertEquals("next", guard.call(() -> CompletableFuture.completedFuture("next")).join());
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive failures and close it after a successful trial")
+    public void shouldOpenAndCloseCircuit() throws Exception {
+        SpotifyGuard guard = new SpotifyGuard(meterRegistry, 4, Duration.ofSeconds(5), 3, Duration.ofMillis(100));
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertCause(IOException.class, guard.call(() -> {
+                upstreamCalls.incrementAndGet();
+                return CompletableFuture.failedFuture(new IOException("connection reset"));
+            }));
+        }
+        assertTrue(guard.isOpen());
+
+        assertCause(SpotifyUnavailableException.class, guard.call(() -> {
+            upstreamCalls.incrementAndGet();
+            return CompletableFuture.completedFuture("ignored");
+        }));
+        assertEquals(3, upstreamCalls.get());
+
+        Thread.sleep(150);
+        assertEquals("recovered", guard.call(() -> CompletableFuture.completedFuture("recovered")).join());
+        assertFalse(guard.isOpen());
+    }
+
+    private static void assertCause(Class<? extends Throwable> type, CompletableFuture<?> future) {
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(type, e.getCause());
+    }
+}
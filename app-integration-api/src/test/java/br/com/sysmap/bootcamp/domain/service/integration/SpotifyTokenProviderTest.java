@@ -0,0 +1,114 @@
+package br.com.sysmap.bootcamp.domain.service.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import se.michaelthelin.spotify.model_objects.credentials.ClientCredentials;
+import se.michaelthelin.spotify.requests.authorization.client_credentials.ClientCredentialsRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpotifyTokenProviderTest {
+
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+
+    private SpotifyTokenProvider tokenProvider;
+    private volatile int expiresIn = 3600;
+
+    @AfterEach
+    void tearDown() {
+        if (tokenProvider != null) {
+            tokenProvider.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fetch the token once for concurrent callers and reuse it while valid")
+    public void shouldFetchTokenOnceForConcurrentCallers() throws Exception {
+        tokenProvider = new SpotifyTokenProvider(this::tokenRequest, Duration.ofSeconds(60));
+
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> tokens = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                tokens.add(executor.submit(() -> {
+                    start.await();
+                    return tokenProvider.getTokenAsync().join();
+                }));
+            }
+            start.countDown();
+
+            for (Future<String> token : tokens) {
+                assertEquals("token-1", token.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("token-1", tokenProvider.getTokenAsync().join());
+        assertEquals(1, tokenRequests.get());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the cached token while refreshing it in the background")
+    public void shouldRefreshInBackgroundBeforeExpiry() throws Exception {
+        expiresIn = 30;
+        tokenProvider = new SpotifyTokenProvider(this::tokenRequest, Duration.ofSeconds(60));
+
+        assertEquals("token-1", tokenProvider.getTokenAsync().join());
+        assertEquals("token-1", tokenProvider.getTokenAsync().join());
+
+        String token = tokenProvider.getTokenAsync().join();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ("token-1".equals(token) && System.nanoTime() < deadline) {
+            sleep(20);
+            token = tokenProvider.getTokenAsync().join();
+        }
+
+        assertNotEquals("token-1", token);
+        assertTrue(tokenRequests.get() >= 2);
+    }
+
+    // Stubbed below the request builder, so no test ever reaches accounts.spotify.com
+    private ClientCredentialsRequest tokenRequest() {
+        ClientCredentialsRequest request = mock(ClientCredentialsRequest.class);
+        try {
+            when(request.execute()).thenAnswer(invocation -> {
+                int attempt = tokenRequests.incrementAndGet();
+                sleep(100);
+                return new ClientCredentials.Builder()
+                        .setAccessToken("token-" + attempt)
+                        .setTokenType("Bearer")
+                        .setExpiresIn(expiresIn)
+                        .build();
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return request;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
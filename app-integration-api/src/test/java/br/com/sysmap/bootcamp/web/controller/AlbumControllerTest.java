@@ -3,22 +3,28 @@ package br.com.sysmap.bootcamp.web.controller;
 import br.com.sysmap.bootcamp.domain.entities.Album;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
+import br.com.sysmap.bootcamp.domain.model.CollectionAlbum;
 import br.com.sysmap.bootcamp.domain.service.AlbumService;
+import br.com.sysmap.bootcamp.dto.CursorPageDto;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = AlbumController.class)
@@ -68,6 +74,28 @@ class AlbumControllerTest {
         assertEquals(2, albumList.size());
     }
 
+    @Test
+    @DisplayName("Should return a page of the user's collection with the next cursor")
+    public void shouldReturnCollectionPage() throws Exception {
+        Users user = Users.builder()
+                .id(1L)
+                .email("test1@test.com")
+                .password("test1").build();
+        CollectionAlbum album = new SpelAwareProxyProjectionFactory().createProjection(CollectionAlbum.class,
+                Map.of("id", 7L, "name", "test album", "idSpotify", "123", "artistName", "test artist",
+                        "imageUrl", "test url", "value", BigDecimal.valueOf(97.10)));
+
+        when(albumService.getUser()).thenReturn(user);
+        when(albumService.getCollectionPage(user, 3L, 1)).thenReturn(new CursorPageDto<>(List.of(album), 7L));
+
+        mockMvc.perform(get("/albums/my-collection/page").param("after", "3").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[0].idSpotify").value("123"))
+                .andExpect(jsonPath("$.items[0].users").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(7));
+    }
+
     @Test
     @DisplayName("Should remove album when ID is valid")
     public void ShouldRemoveAlbumWhenIDIsValid() throws Exception {
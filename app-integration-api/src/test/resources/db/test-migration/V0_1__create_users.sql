@@ -0,0 +1,8 @@
+-- USERS belongs to app-user-api's migrations; tests here run against their own database, so they create
+-- the columns this service maps. NAME stays nullable because Users in this service does not map it.
+CREATE TABLE IF NOT EXISTS USERS (
+    ID       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    NAME     VARCHAR(255),
+    EMAIL    VARCHAR(255) NOT NULL,
+    PASSWORD VARCHAR(255) NOT NULL
+);
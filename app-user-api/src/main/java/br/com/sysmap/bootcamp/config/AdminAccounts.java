@@ -0,0 +1,36 @@
+package br.com.sysmap.bootcamp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Grants the admin role to the e-mails listed in {@code security.admin-emails}, for both HTTP Basic
+ * and bearer-token requests. Operational endpoints require it; with the list empty nobody has it.
+ */
+@Component
+public class AdminAccounts {
+
+    public static final String ROLE = "ADMIN";
+
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_" + ROLE));
+
+    private final Set<String> emails;
+
+    public AdminAccounts(@Value("${security.admin-emails:}") List<String> emails) {
+        this.emails = emails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public List<GrantedAuthority> authoritiesOf(String email) {
+        return email != null && emails.contains(email.toLowerCase(Locale.ROOT)) ? ADMIN_AUTHORITIES : List.of();
+    }
+}
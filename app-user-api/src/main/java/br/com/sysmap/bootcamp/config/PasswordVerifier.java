@@ -0,0 +1,155 @@
+package br.com.sysmap.bootcamp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt work on dedicated bounded pools and memoizes recent successful checks.
+ * The pools are private to this class so they never replace Spring's application task executor.
+ * Bulk hashing ({@link #encodeBulk}) has a pool of its own, so an import never queues ahead of logins;
+ * once its queue is full the submitting thread hashes the password itself, which slows the import
+ * down instead of rejecting it.
+ * {@link #matches} and {@link #encode} still wait on the calling request thread: the pool caps
+ * how many hashes burn CPU at once, and at most {@code max-waiting} callers may wait for it,
+ * each for at most {@code timeout}, so a hashing burst cannot park the whole Tomcat pool.
+ * Beyond that callers fail fast, and a hash whose caller gave up is cancelled.
+ * The memo key holds only the credential fingerprint and the stored hash, so a password
+ * change invalidates it without any explicit eviction.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final PrincipalCache principalCache;
+    private final Duration timeout;
+    private final Semaphore waiters;
+    private final Cache<VerificationKey, Boolean> verified;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            PrincipalCache principalCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${security.password-verifier.pool-size:0}") int poolSize,
+                            @Value("${security.password-verifier.queue-capacity:256}") int queueCapacity,
+                            @Value("${security.password-verifier.max-waiting:32}") int maxWaiting,
+                            @Value("${security.password-verifier.max-size:10000}") long maxSize,
+                            @Value("${security.password-verifier.ttl:15m}") Duration ttl,
+                            @Value("${security.password-verifier.timeout:5s}") Duration timeout,
+                            @Value("${security.password-verifier.bulk-pool-size:0}") int bulkPoolSize,
+                            @Value("${security.password-verifier.bulk-queue-capacity:64}") int bulkQueueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), hashingThreads("password-hashing-"));
+        // Half the cores by default, so imports leave the other half to interactive hashing
+        int bulkThreads = bulkPoolSize > 0 ? bulkPoolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.bulkExecutor = new ThreadPoolExecutor(bulkThreads, bulkThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkQueueCapacity), hashingThreads("password-bulk-hashing-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.principalCache = principalCache;
+        this.timeout = timeout;
+        this.waiters = new Semaphore(maxWaiting);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.verified, "password-verifications");
+    }
+
+    public boolean matches(String email, String rawPassword, String storedPassword) {
+        VerificationKey key = new VerificationKey(email, principalCache.fingerprint(rawPassword), storedPassword);
+        if (this.verified.getIfPresent(key) != null) {
+            return true;
+        }
+
+        boolean matches = offload(() -> this.passwordEncoder.matches(rawPassword, storedPassword));
+        if (matches) {
+            this.verified.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    public String encode(String rawPassword) {
+        return offload(() -> this.passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<String> encodeBulk(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> this.passwordEncoder.encode(rawPassword), this.bulkExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+        this.bulkExecutor.shutdown();
+    }
+
+    // Blocks the caller, so the number of waiting request threads is bounded before anything is queued
+    private <T> T offload(Callable<T> task) {
+        if (!this.waiters.tryAcquire()) {
+            throw new AuthenticationServiceException("Password hashing capacity exhausted");
+        }
+        Future<T> future = null;
+        try {
+            future = this.executor.submit(task);
+            return future.get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException | TimeoutException e) {
+            throw new AuthenticationServiceException("Password hashing capacity exhausted", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AuthenticationServiceException("Password hashing failed", e.getCause());
+        } finally {
+            if (future != null && !future.isDone()) {
+                cancel(future);
+            }
+            this.waiters.release();
+        }
+    }
+
+    // A queued hash is dropped before it runs; BCrypt ignores the interrupt, so a running one finishes unused
+    private void cancel(Future<?> future) {
+        future.cancel(true);
+        if (future instanceof Runnable queued) {
+            this.executor.remove(queued);
+        }
+    }
+
+    private static ThreadFactory hashingThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record VerificationKey(String email, String credentialFingerprint, String storedPassword) {
+    }
+}
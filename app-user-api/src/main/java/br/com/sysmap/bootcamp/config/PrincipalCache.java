@@ -0,0 +1,72 @@
+package br.com.sysmap.bootcamp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicting cache of principals that already passed credential verification.
+ * Entries are keyed by e-mail plus an HMAC fingerprint of the presented credential, so a
+ * different password never hits a cached entry and raw credentials are never kept in memory.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final String FINGERPRINT_ALGORITHM = "HmacSHA256";
+
+    private final Cache<PrincipalKey, AuthenticatedUser> cache;
+    private final SecretKeySpec fingerprintKey;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "principals");
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.fingerprintKey = new SecretKeySpec(key, FINGERPRINT_ALGORITHM);
+    }
+
+    public Optional<AuthenticatedUser> get(String email, Object credentials) {
+        return Optional.ofNullable(this.cache.getIfPresent(new PrincipalKey(email, fingerprint(credentials))));
+    }
+
+    public void put(String email, Object credentials, AuthenticatedUser principal) {
+        this.cache.put(new PrincipalKey(email, fingerprint(credentials)), principal);
+    }
+
+    public void evict(String email) {
+        this.cache.asMap().keySet().removeIf(key -> key.email().equals(email));
+    }
+
+    public String fingerprint(Object credentials) {
+        try {
+            Mac mac = Mac.getInstance(FINGERPRINT_ALGORITHM);
+            mac.init(this.fingerprintKey);
+            byte[] digest = mac.doFinal(String.valueOf(credentials).getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to fingerprint credentials", e);
+        }
+    }
+
+    private record PrincipalKey(String email, String fingerprint) {
+    }
+}
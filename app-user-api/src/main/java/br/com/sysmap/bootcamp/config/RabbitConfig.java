@@ -3,18 +3,34 @@ package br.com.sysmap.bootcamp.config;
 import br.com.sysmap.bootcamp.domain.listeners.WalletListener;
 import br.com.sysmap.bootcamp.domain.service.WalletService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @RequiredArgsConstructor
 @Configuration
 public class RabbitConfig {
 
+    public static final String WALLET_QUEUE = "WalletQueue";
+    public static final String WALLET_RETRY_EXCHANGE = "WalletQueue.retry";
+    public static final String WALLET_PARKING_LOT = "WalletQueue.parking-lot";
+
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
@@ -22,7 +38,35 @@ public class RabbitConfig {
 
     @Bean
     public Queue WalletQueue() {
-        return new Queue("WalletQueue");
+        return new Queue(WALLET_QUEUE);
+    }
+
+    // One queue per backoff tier: messages wait out the tier's TTL and dead-letter back onto WalletQueue.
+    // The delay is part of the name because RabbitMQ refuses to redeclare a queue with a different TTL.
+    @Bean
+    public Declarables walletRetryTopology(@Value("${wallet.retry.delays:1s,5s,25s,2m}") List<Duration> delays) {
+        DirectExchange retryExchange = new DirectExchange(WALLET_RETRY_EXCHANGE);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(retryExchange);
+
+        for (Duration delay : delays) {
+            Queue tier = QueueBuilder.durable(retryQueue(delay))
+                    .ttl(Math.toIntExact(delay.toMillis()))
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(WALLET_QUEUE)
+                    .build();
+            declarables.add(tier);
+            declarables.add(BindingBuilder.bind(tier).to(retryExchange).with(tier.getName()));
+        }
+
+        Queue parkingLot = QueueBuilder.durable(WALLET_PARKING_LOT).build();
+        declarables.add(parkingLot);
+        declarables.add(BindingBuilder.bind(parkingLot).to(retryExchange).with(WALLET_PARKING_LOT));
+        return new Declarables(declarables);
+    }
+
+    public static String retryQueue(Duration delay) {
+        return WALLET_QUEUE + ".retry." + delay.toMillis() + "ms";
     }
 
     @Bean
@@ -30,10 +74,26 @@ public class RabbitConfig {
         return new WalletListener();
     }
 
+    // Delivers up to batch-size messages at once, or whatever arrived when receive-timeout elapses without a new one
+    @Bean
+    public SimpleRabbitListenerContainerFactory walletBatchListenerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                           ConnectionFactory connectionFactory,
+                                                                           @Value("${wallet.listener.batch-size:100}") int batchSize,
+                                                                           @Value("${wallet.listener.receive-timeout:200ms}") Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        return factory;
+    }
+
     @Bean
-    public SimpleMessageConverter converter() {
-        SimpleMessageConverter converter = new SimpleMessageConverter();
-        converter.setAllowedListPatterns(List.of("br.com.sysmap.bootcamp.dto.*", "java.util.*"));
-        return converter;
+    public MessageConverter converter() {
+        SimpleMessageConverter legacyConverter = new SimpleMessageConverter();
+        legacyConverter.setAllowedListPatterns(List.of("br.com.sysmap.bootcamp.dto.*", "java.util.*", "java.math.*"));
+        return new WalletMessageConverter(legacyConverter);
     }
 }
@@ -2,6 +2,7 @@ package br.com.sysmap.bootcamp.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -11,6 +12,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -22,13 +24,16 @@ public class ServerSecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity, TokenService tokenService,
+                                                   AdminAccounts adminAccounts) throws Exception {
         return httpSecurity.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize->authorize.requestMatchers("/users/auth", "/users/create", "/api/auth/**",
                  "/v3/api-docs/**",
                  "/v2/api-docs.yaml",
                  "/swagger-ui/**", "/swagger-ui.html").permitAll())
+                .authorizeHttpRequests(authorize->authorize.requestMatchers(HttpMethod.POST, "/users/import", "/wallet/parking-lot/replay").hasRole(AdminAccounts.ROLE))
                 .authorizeHttpRequests(authorize->authorize.anyRequest().authenticated())
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, adminAccounts), BasicAuthenticationFilter.class)
                 .httpBasic(Customizer.withDefaults())
                 .build();
     }
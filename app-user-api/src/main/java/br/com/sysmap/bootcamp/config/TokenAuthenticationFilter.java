@@ -0,0 +1,42 @@
+package br.com.sysmap.bootcamp.config;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final AdminAccounts adminAccounts;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            tokenService.validate(header.substring(BEARER_PREFIX.length()).trim()).ifPresent(claims -> {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                Users users = Users.builder().id(claims.userId()).email(claims.email()).build();
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(new AuthenticatedUser(users), null,
+                        adminAccounts.authoritiesOf(claims.email())));
+                SecurityContextHolder.setContext(context);
+            });
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
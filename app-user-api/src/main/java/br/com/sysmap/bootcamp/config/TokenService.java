@@ -0,0 +1,102 @@
+package br.com.sysmap.bootcamp.config;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and validates HS256-signed tokens (JWT compact serialization). Validation only needs
+ * the shared secret held in memory, so authenticated requests carrying a token never touch the database.
+ */
+@Component
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public TokenService(@Value("${security.token.secret}") String secret,
+                        @Value("${security.token.ttl:1h}") Duration ttl) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("security.token.secret (TOKEN_SECRET) must be set");
+        }
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < 32) {
+            throw new IllegalStateException("security.token.secret must be at least 32 bytes long");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        this.ttl = ttl;
+    }
+
+    public String issue(Users users) {
+        Instant now = Instant.now();
+        ObjectNode claims = objectMapper.createObjectNode()
+                .put("sub", users.getEmail())
+                .put("uid", users.getId())
+                .put("iat", now.getEpochSecond())
+                .put("exp", now.plus(ttl).getEpochSecond());
+
+        try {
+            String content = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return content + "." + ENCODER.encodeToString(sign(content));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize token claims", e);
+        }
+    }
+
+    public Optional<TokenClaims> validate(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3 || !HEADER.equals(parts[0])) {
+            return Optional.empty();
+        }
+
+        try {
+            String content = parts[0] + "." + parts[1];
+            if (!MessageDigest.isEqual(sign(content), DECODER.decode(parts[2]))) {
+                return Optional.empty();
+            }
+
+            JsonNode claims = objectMapper.readTree(DECODER.decode(parts[1]));
+            Instant expiresAt = Instant.ofEpochSecond(claims.path("exp").asLong());
+            if (!Instant.now().isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(claims.path("sub").asText(), claims.path("uid").asLong(), expiresAt));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String content) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(content.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+    }
+
+    public record TokenClaims(String email, Long userId, Instant expiresAt) {
+    }
+}
@@ -15,11 +15,12 @@ import java.time.LocalDateTime;
 public class Wallet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_seq")
+    @SequenceGenerator(name = "wallet_seq", sequenceName = "WALLET_SEQ", allocationSize = 50)
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
-    @Column( name = "balance" )
+    @Column( name = "balance", precision = 38, scale = 2 )
     private BigDecimal balance;
 
     @Column( name = "points")
@@ -0,0 +1,8 @@
+package br.com.sysmap.bootcamp.domain.exception;
+
+public class InsufficientBalanceException extends RuntimeException{
+
+    public InsufficientBalanceException(String message){
+        super(message);
+    }
+}
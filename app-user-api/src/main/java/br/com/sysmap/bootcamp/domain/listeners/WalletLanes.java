@@ -0,0 +1,104 @@
+package br.com.sysmap.bootcamp.domain.listeners;
+
+import br.com.sysmap.bootcamp.domain.service.WalletService;
+import br.com.sysmap.bootcamp.domain.service.WalletService.DebitRejection;
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits each delivered batch into lanes by e-mail hash and debits the lanes in parallel. A user
+ * always maps to the same lane and every lane is a single thread, so one user's debits keep their
+ * delivery order while different users proceed on separate cores. {@link #dispatch} returns only
+ * after every lane finished and reports what was not applied: the debits each lane rejected, and
+ * every debit of a lane that failed as a whole, with the lane's exception as their cause. A failed
+ * lane rolled back, so re-running exactly those debits never applies one twice. A batch holding a
+ * debit without an event id runs as a single transaction on one lane, so that it either commits or
+ * rolls back entirely.
+ */
+@Slf4j
+@Component
+public class WalletLanes {
+
+    private final WalletService walletService;
+    private final List<ExecutorService> executors;
+    private final List<AtomicInteger> backlogs;
+
+    // Each busy lane holds a database connection, so keep wallet.listener.lanes below the pool size
+    public WalletLanes(WalletService walletService,
+                       MeterRegistry meterRegistry,
+                       @Value("${wallet.listener.lanes:4}") int lanes) {
+        this.walletService = walletService;
+        int count = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors();
+        this.executors = new ArrayList<>(count);
+        this.backlogs = new ArrayList<>(count);
+        for (int lane = 0; lane < count; lane++) {
+            String name = "wallet-lane-" + lane;
+            this.executors.add(Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }));
+            this.backlogs.add(meterRegistry.gauge("wallet.listener.lane.backlog", Tags.of("lane", String.valueOf(lane)),
+                    new AtomicInteger()));
+        }
+    }
+
+    public List<DebitRejection> dispatch(List<WalletDto> walletDtos) {
+        List<List<WalletDto>> shards = new ArrayList<>(executors.size());
+        for (int lane = 0; lane < executors.size(); lane++) {
+            shards.add(new ArrayList<>());
+        }
+        if (walletDtos.stream().anyMatch(walletDto -> walletDto.getEventId() == null)) {
+            shards.get(0).addAll(walletDtos);
+        } else {
+            for (WalletDto walletDto : walletDtos) {
+                shards.get(laneOf(walletDto.getEmail())).add(walletDto);
+            }
+        }
+
+        List<CompletableFuture<List<DebitRejection>>> work = new ArrayList<>(executors.size());
+        for (int lane = 0; lane < shards.size(); lane++) {
+            List<WalletDto> shard = shards.get(lane);
+            if (shard.isEmpty()) {
+                continue;
+            }
+            AtomicInteger backlog = backlogs.get(lane);
+            backlog.addAndGet(shard.size());
+            work.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return walletService.debitBatch(shard);
+                } catch (RuntimeException e) {
+                    log.warn("Wallet lane failed, sending its {} debits to the retry tiers", shard.size(), e);
+                    return shard.stream().map(walletDto -> new DebitRejection(walletDto, e)).toList();
+                } finally {
+                    backlog.addAndGet(-shard.size());
+                }
+            }, executors.get(lane)));
+        }
+
+        List<DebitRejection> rejections = new ArrayList<>();
+        work.forEach(lane -> rejections.addAll(lane.join()));
+        return rejections;
+    }
+
+    public int laneOf(String email) {
+        return Math.floorMod(email.hashCode(), executors.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.forEach(ExecutorService::shutdown);
+    }
+}
@@ -1,27 +1,74 @@
 package br.com.sysmap.bootcamp.domain.listeners;
 
 
-import br.com.sysmap.bootcamp.domain.service.WalletService;
+import br.com.sysmap.bootcamp.domain.service.WalletRetryService;
+import br.com.sysmap.bootcamp.domain.service.WalletService.DebitRejection;
 import br.com.sysmap.bootcamp.dto.WalletDto;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 @RequiredArgsConstructor
 @Slf4j
-@RabbitListener(queues = "WalletQueue")
 public class WalletListener {
 
     @Autowired
-    private  WalletService walletService;
+    private WalletLanes walletLanes;
+
+    @Autowired
+    private WalletRetryService walletRetryService;
+
+    @Autowired
+    private MessageConverter messageConverter;
 
-    @RabbitHandler
-    public void receive(WalletDto walletDto) {
-        this.walletService.debit(walletDto);
-        log.info("debiting wallet: {}", walletDto);
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Only the debits that were not applied go to the retry tiers; the batch is then acknowledged
+    // instead of being requeued onto the head of WalletQueue
+    @RabbitListener(queues = "WalletQueue", containerFactory = "walletBatchListenerFactory")
+    public void receive(List<Message> messages) {
+        List<Message> decoded = new ArrayList<>(messages.size());
+        List<WalletDto> walletDtos = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                walletDtos.add((WalletDto) messageConverter.fromMessage(message));
+                decoded.add(message);
+            } catch (MessageConversionException | ClassCastException e) {
+                walletRetryService.park(message, e);
+            }
+        }
+
+        meterRegistry.timer("wallet.listener.batch.duration")
+                .record(() -> retry(decoded, walletDtos, this.walletLanes.dispatch(walletDtos)));
+
+        meterRegistry.summary("wallet.listener.batch.size").record(messages.size());
+        meterRegistry.counter("wallet.listener.messages").increment(messages.size());
+        log.info("debiting wallets: {} messages", messages.size());
+    }
 
+    // Maps each unapplied debit back to its own message
+    private void retry(List<Message> messages, List<WalletDto> walletDtos, List<DebitRejection> rejections) {
+        if (rejections.isEmpty()) {
+            return;
+        }
+        Map<WalletDto, Message> messageByDebit = new IdentityHashMap<>();
+        for (int i = 0; i < walletDtos.size(); i++) {
+            messageByDebit.put(walletDtos.get(i), messages.get(i));
+        }
+        for (DebitRejection rejection : rejections) {
+            walletRetryService.retry(messageByDebit.get(rejection.walletDto()), rejection.cause());
+        }
     }
 
 
@@ -1,13 +1,31 @@
 package br.com.sysmap.bootcamp.domain.repository;
 
 import br.com.sysmap.bootcamp.domain.entities.Users;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UsersRepository extends JpaRepository<Users, Long> {
 
     Optional<Users> findByEmail(String email);
+
+    List<Users> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u from Users u order by u.id")
+    Stream<Users> streamAll();
+
+    @Query("select u.email from Users u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
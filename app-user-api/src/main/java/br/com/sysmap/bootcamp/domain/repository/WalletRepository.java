@@ -3,8 +3,13 @@ package br.com.sysmap.bootcamp.domain.repository;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.entities.Wallet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,21 @@ public interface WalletRepository extends JpaRepository<Wallet, Long> {
 
     Optional<Wallet> findByUsers(Users users);
 
+    Optional<Wallet> findByUsersEmail(String email);
+
+    boolean existsByUsersEmail(String email);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Wallet w set w.balance = w.balance + :amount, w.points = w.points + :points, w.lastUpdate = :updatedAt " +
+            "where w.users.id = :usersId")
+    int credit(@Param("usersId") Long usersId, @Param("amount") BigDecimal amount,
+               @Param("points") Long points, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Wallet w set w.balance = w.balance - :amount, w.points = w.points + :points, w.lastUpdate = :updatedAt " +
+            "where w.users.id = (select u.id from Users u where u.email = :email) " +
+            "and (:allowOverdraft = true or w.balance >= :amount)")
+    int debit(@Param("email") String email, @Param("amount") BigDecimal amount, @Param("points") Long points,
+              @Param("updatedAt") LocalDateTime updatedAt, @Param("allowOverdraft") boolean allowOverdraft);
+
 }
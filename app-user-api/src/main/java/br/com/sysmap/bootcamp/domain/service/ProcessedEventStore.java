@@ -0,0 +1,131 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Idempotency store for wallet events. {@link #claim} records events in the caller's transaction
+ * and returns only those never processed before: a bounded in-memory set of recently committed ids
+ * answers most redeliveries, and the PROCESSED_EVENT primary key is the authority for the rest.
+ * When two consumers claim the same event at once, the second insert fails and rolls back its lane;
+ * the listener sends that lane's messages to the retry tiers, where the event is found already processed.
+ */
+@Slf4j
+@Component
+public class ProcessedEventStore {
+
+    private static final String INSERT_SQL = "INSERT INTO PROCESSED_EVENT (EVENT_ID, PROCESSED_AT) VALUES (?, ?)";
+    private static final String DELETE_SQL = "DELETE FROM PROCESSED_EVENT WHERE EVENT_ID = ?";
+    private static final String PURGE_SQL = "DELETE FROM PROCESSED_EVENT WHERE PROCESSED_AT < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<UUID, Boolean> recent;
+    private final Counter duplicates;
+    private final Duration retention;
+
+    public ProcessedEventStore(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${wallet.idempotency.cache-size:100000}") long cacheSize,
+                               @Value("${wallet.idempotency.retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.recent, "processed-events");
+        this.duplicates = meterRegistry.counter("wallet.events.duplicates");
+        this.retention = retention;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<UUID> claim(Collection<UUID> eventIds) {
+        Set<UUID> candidates = new LinkedHashSet<>();
+        for (UUID eventId : eventIds) {
+            if (this.recent.getIfPresent(eventId) == null) {
+                candidates.add(eventId);
+            }
+        }
+        if (candidates.isEmpty()) {
+            this.duplicates.increment(eventIds.size());
+            return Collections.emptySet();
+        }
+
+        List<UUID> processed = jdbcTemplate.queryForList(
+                "SELECT EVENT_ID FROM PROCESSED_EVENT WHERE EVENT_ID IN (" + String.join(", ", Collections.nCopies(candidates.size(), "?")) + ")",
+                UUID.class, candidates.toArray());
+        processed.forEach(eventId -> this.recent.put(eventId, Boolean.TRUE));
+        candidates.removeAll(processed);
+        this.duplicates.increment(eventIds.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        Timestamp processedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(candidates.size());
+        for (UUID eventId : candidates) {
+            args.add(new Object[]{eventId, processedAt});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+
+        // Only committed claims may short-circuit later lookups; the debits of a rolled back lane come back
+        // through the retry tiers and are claimed again
+        Set<UUID> claimed = Set.copyOf(candidates);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                claimed.forEach(eventId -> recent.put(eventId, Boolean.TRUE));
+            }
+        });
+        return candidates;
+    }
+
+    // Undoes claims in the caller's transaction for events that were claimed but could not be applied
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Collection<UUID> eventIds) {
+        List<Object[]> args = new ArrayList<>(eventIds.size());
+        for (UUID eventId : eventIds) {
+            args.add(new Object[]{eventId});
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, args);
+
+        // Registered after the claim's own synchronization, so this runs after it cached the ids
+        Set<UUID> released = Set.copyOf(eventIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recent.invalidateAll(released);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.idempotency.purge-interval-ms:3600000}")
+    public void purge() {
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+        if (purged > 0) {
+            log.info("Purged {} processed wallet events older than {}", purged, retention);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.config.PasswordVerifier;
+import br.com.sysmap.bootcamp.config.PrincipalCache;
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.entities.Wallet;
+import br.com.sysmap.bootcamp.domain.repository.UsersRepository;
+import br.com.sysmap.bootcamp.domain.repository.WalletRepository;
+import br.com.sysmap.bootcamp.dto.ImportReportDto;
+import br.com.sysmap.bootcamp.dto.UserImportDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Imports users from newline-delimited JSON, one {@link UserImportDto} per line. The input is read
+ * chunk by chunk: each chunk is checked against existing e-mails with one query, hashed on the
+ * bulk password pool and inserted with batched statements, so memory stays bounded by the chunk size.
+ */
+@RequiredArgsConstructor
+@Slf4j
+@Service
+public class UserImportService {
+
+    private final UsersRepository usersRepository;
+    private final WalletRepository walletRepository;
+    private final PasswordVerifier passwordVerifier;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${users.import.chunk-size:500}")
+    private int chunkSize;
+
+    // Hashes in flight per import; beyond security.password-verifier.bulk-queue-capacity the import hashes on its own thread
+    @Value("${users.import.hash-window:64}")
+    private int hashWindow;
+
+    @Value("${users.import.max-errors:1000}")
+    private int maxErrors;
+
+    public ImportReportDto importUsers(InputStream input, Consumer<ImportReportDto> progress) throws IOException {
+        ImportState state = new ImportState();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Row row = parse(lineNumber, line, state);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, state);
+                    chunk.clear();
+                    progress.accept(state.report(false));
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, state);
+        }
+
+        ImportReportDto report = state.report(true);
+        log.info("User import finished: {} processed, {} imported, {} duplicates, {} failed",
+                report.getProcessed(), report.getImported(), report.getDuplicates(), report.getFailed());
+        return report;
+    }
+
+    private Row parse(long lineNumber, String line, ImportState state) {
+        state.processed++;
+        try {
+            UserImportDto dto = objectMapper.readValue(line, UserImportDto.class);
+            if (dto == null || isBlank(dto.getName()) || isBlank(dto.getEmail()) || isBlank(dto.getPassword())) {
+                state.fail(lineNumber, dto == null ? null : dto.getEmail(), "Invalid registration credentials (Name, User or Password)");
+                return null;
+            }
+            return new Row(lineNumber, dto.getName(), dto.getEmail(), dto.getPassword());
+        } catch (JsonProcessingException e) {
+            state.fail(lineNumber, null, "Malformed line: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private void importChunk(List<Row> chunk, ImportState state) {
+        Map<String, Row> candidates = new LinkedHashMap<>();
+        for (Row row : chunk) {
+            if (candidates.putIfAbsent(row.email(), row) != null) {
+                state.duplicate(row, "E-mail repeated in the import");
+            }
+        }
+
+        for (String email : usersRepository.findExistingEmails(candidates.keySet())) {
+            state.duplicate(candidates.remove(email), "User already exists");
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<Row> rows = new ArrayList<>(candidates.values());
+        List<String> hashes;
+        try {
+            hashes = encode(rows);
+        } catch (RuntimeException e) {
+            // Nothing of this chunk was written yet, so it is reported as failed and the import goes on
+            log.warn("Hashing {} imported passwords failed, skipping the chunk", rows.size(), e);
+            rows.forEach(row -> state.fail(row.line(), row.email(), "Password could not be hashed"));
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(rows, hashes));
+            rows.forEach(state::imported);
+        } catch (RuntimeException e) {
+            // One bad row rolls the whole chunk back; retry row by row so only that row is reported
+            log.warn("Batched insert of {} imported users failed, retrying row by row", rows.size(), e);
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                String hash = hashes.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row), List.of(hash)));
+                    state.imported(row);
+                } catch (RuntimeException rowFailure) {
+                    log.debug("Imported user at line {} could not be inserted", row.line(), rowFailure);
+                    state.fail(row.line(), row.email(), "User could not be inserted");
+                }
+            }
+        }
+    }
+
+    private List<String> encode(List<Row> rows) {
+        List<String> hashes = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += hashWindow) {
+            List<CompletableFuture<String>> window = rows.subList(from, Math.min(from + hashWindow, rows.size())).stream()
+                    .map(row -> passwordVerifier.encodeBulk(row.password()))
+                    .toList();
+            window.forEach(hash -> hashes.add(hash.join()));
+        }
+        return hashes;
+    }
+
+    private void insert(List<Row> rows, List<String> hashes) {
+        List<Users> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            users.add(Users.builder().name(row.name()).email(row.email()).password(hashes.get(i)).build());
+        }
+        users = usersRepository.saveAll(users);
+
+        LocalDateTime now = LocalDateTime.now();
+        walletRepository.saveAll(users.stream()
+                .map(user -> Wallet.builder()
+                        .balance(BigDecimal.ZERO)
+                        .points(0L)
+                        .lastUpdate(now)
+                        .users(user)
+                        .build())
+                .toList());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record Row(long line, String name, String email, String password) {
+    }
+
+    private final class ImportState {
+
+        private final List<ImportReportDto.RowError> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long duplicates;
+        private long failed;
+
+        private void imported(Row row) {
+            imported++;
+            principalCache.evict(row.email());
+            meterRegistry.counter("users.import.rows", "outcome", "imported").increment();
+        }
+
+        private void duplicate(Row row, String message) {
+            duplicates++;
+            error(row.line(), row.email(), message);
+            meterRegistry.counter("users.import.rows", "outcome", "duplicate").increment();
+        }
+
+        private void fail(long line, String email, String message) {
+            failed++;
+            error(line, email, message);
+            meterRegistry.counter("users.import.rows", "outcome", "failed").increment();
+        }
+
+        private void error(long line, String email, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportReportDto.RowError(line, email, message));
+            }
+        }
+
+        // Progress lines only carry counters; the row errors are sent once, with the final report
+        private ImportReportDto report(boolean completed) {
+            return new ImportReportDto(completed, processed, imported, duplicates, failed,
+                    completed ? List.copyOf(errors) : null);
+        }
+    }
+}
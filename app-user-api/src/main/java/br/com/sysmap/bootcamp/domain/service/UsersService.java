@@ -1,6 +1,10 @@
 package br.com.sysmap.bootcamp.domain.service;
 
 
+import br.com.sysmap.bootcamp.config.PasswordVerifier;
+import br.com.sysmap.bootcamp.config.AuthenticatedUser;
+import br.com.sysmap.bootcamp.config.PrincipalCache;
+import br.com.sysmap.bootcamp.config.TokenService;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.entities.Wallet;
 import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
@@ -9,8 +13,11 @@ import br.com.sysmap.bootcamp.domain.exception.UserAlreadyExistsException;
 import br.com.sysmap.bootcamp.domain.repository.UsersRepository;
 import br.com.sysmap.bootcamp.domain.repository.WalletRepository;
 import br.com.sysmap.bootcamp.dto.AuthDto;
+import br.com.sysmap.bootcamp.dto.CursorPageDto;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
@@ -25,17 +32,25 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Slf4j
 @Service
 public class UsersService implements UserDetailsService {
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UsersRepository usersRepository;
     private final WalletRepository walletRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final PasswordVerifier passwordVerifier;
+    private final TokenService tokenService;
+    private final EntityManager entityManager;
+    private final WalletCache walletCache;
 
     @Transactional(propagation = Propagation.REQUIRED)
     public Users save(Users user) {
@@ -49,11 +64,12 @@ public class UsersService implements UserDetailsService {
         }
 
 
-        user = user.toBuilder().password(this.passwordEncoder.encode(user.getPassword())).build();
+        user = user.toBuilder().password(this.passwordVerifier.encode(user.getPassword())).build();
 
         Users userEntity = this.usersRepository.save(user);
 
         this.createWallet(user);
+        this.principalCache.evict(user.getEmail());
 
         log.info("Saving user: {}", user);
         return userEntity;
@@ -80,6 +96,15 @@ public class UsersService implements UserDetailsService {
                 .password(user.getPassword())
                 .build();
 
+        if (user.getId() != null) {
+            this.usersRepository.findById(user.getId())
+                    .ifPresent(previous -> {
+                        this.principalCache.evict(previous.getEmail());
+                        this.walletCache.evictAfterCommit(previous.getEmail());
+                    });
+        }
+        this.principalCache.evict(user.getEmail());
+
         return this.usersRepository.save(newUser);
     }
 
@@ -88,6 +113,26 @@ public class UsersService implements UserDetailsService {
         return usersRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDto<Users> getPage(Long after, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Users> users = usersRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(pageSize));
+
+        Long nextCursor = users.size() == pageSize ? users.get(users.size() - 1).getId() : null;
+        return new CursorPageDto<>(users, nextCursor);
+    }
+
+    // Entities are detached as soon as they are consumed so the persistence context never grows with the table
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Users> consumer) {
+        try (Stream<Users> users = usersRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(user);
+                entityManager.detach(user);
+            });
+        }
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Optional<Users> usersOptional = this.usersRepository.findByEmail(username);
@@ -108,11 +153,7 @@ public class UsersService implements UserDetailsService {
             throw new RuntimeException("Invalid password");
         }
 
-        StringBuilder password = new StringBuilder().append(users.getEmail()).append(":").append(users.getPassword());
-
-        return AuthDto.builder().email(users.getEmail()).token(
-                Base64.getEncoder().withoutPadding().encodeToString(password.toString().getBytes())
-        ).id(users.getId()).build();
+        return AuthDto.builder().email(users.getEmail()).token(this.tokenService.issue(users)).id(users.getId()).build();
     }
 
 
@@ -130,10 +171,12 @@ public class UsersService implements UserDetailsService {
         return this.walletRepository.save(wallet);
     }
 
+    // Authentication already resolved the user; only principals set by other means (e.g. tests) fall back to a lookup
     public Users getUserByContext(){
-        String email = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Users users = findByEmail(email);
-
-        return users;
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.users();
+        }
+        return findByEmail(principal.toString());
     }
 }
@@ -0,0 +1,83 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.entities.Wallet;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Wallet snapshots by user e-mail, loaded on read and evicted by the wallet updates once their
+ * transaction commits, so a write never pays for a reload. An eviction waits for a load of the
+ * same e-mail that is in progress, so a balance read before the commit is not left behind.
+ * The TTL bounds staleness for writes made by other instances.
+ */
+@Component
+public class WalletCache {
+
+    private final Cache<String, Snapshot> cache;
+
+    public WalletCache(MeterRegistry meterRegistry,
+                       @Value("${wallet.cache.max-size:10000}") long maxSize,
+                       @Value("${wallet.cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "wallets");
+    }
+
+    public Snapshot get(String email, Function<String, Wallet> loader) {
+        return this.cache.get(email, key -> Snapshot.of(loader.apply(key)));
+    }
+
+    public void evictAfterCommit(String email) {
+        if (email == null) {
+            return;
+        }
+        afterCommit(() -> this.cache.invalidate(email));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * A wallet as last read, with the entity tag of its content. The wallet is shared
+     * between requests and must be treated as read-only.
+     */
+    public record Snapshot(Wallet wallet, String etag) {
+
+        static Snapshot of(Wallet wallet) {
+            String content = wallet.getId() + ":" + wallet.getBalance().stripTrailingZeros().toPlainString() + ":"
+                    + wallet.getPoints() + ":" + wallet.getLastUpdate();
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+                return new Snapshot(wallet, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.config.RabbitConfig;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes failed wallet messages off the hot path. A failure is republished to the next backoff tier
+ * of the retry exchange, counted in the {@value #RETRY_COUNT_HEADER} header; once every tier is used
+ * up the message is parked until {@link #replayParked} moves it back onto WalletQueue. Every republish
+ * waits for the broker's publisher confirm, so the source message is only acknowledged once its copy is safe.
+ */
+@Slf4j
+@Service
+public class WalletRetryService {
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String EXCEPTION_HEADER = "x-exception-message";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final List<Duration> delays;
+    private final Duration confirmTimeout;
+
+    public WalletRetryService(RabbitTemplate rabbitTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${wallet.retry.delays:1s,5s,25s,2m}") List<Duration> delays,
+                              @Value("${wallet.retry.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.delays = delays;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public void retry(Message message, Exception failure) {
+        MessageProperties properties = message.getMessageProperties();
+        int attempt = retryCount(properties);
+        properties.setHeader(EXCEPTION_HEADER, String.valueOf(failure.getMessage()));
+
+        if (attempt >= delays.size()) {
+            park(message, failure);
+            return;
+        }
+
+        String tier = RabbitConfig.retryQueue(delays.get(attempt));
+        properties.setHeader(RETRY_COUNT_HEADER, attempt + 1);
+        publishConfirmed(tier, message);
+        meterRegistry.counter("wallet.listener.retries", "tier", String.valueOf(attempt + 1)).increment();
+        log.warn("Wallet message scheduled for retry {} of {} in {}: {}", attempt + 1, delays.size(),
+                delays.get(attempt), failure.getMessage());
+    }
+
+    public void park(Message message, Exception failure) {
+        message.getMessageProperties().setHeader(EXCEPTION_HEADER, String.valueOf(failure.getMessage()));
+        publishConfirmed(RabbitConfig.WALLET_PARKING_LOT, message);
+        meterRegistry.counter("wallet.listener.parked").increment();
+        log.error("Wallet message parked after {} retries", retryCount(message.getMessageProperties()), failure);
+    }
+
+    // Replayed messages start over with a full set of retries. They are acknowledged only after the broker
+    // confirmed every republish, so a crash in between duplicates them at worst, and the event id makes that harmless.
+    public int replayParked(int max) {
+        Integer replayed = rabbitTemplate.execute(channel -> {
+            int count = 0;
+            long lastDeliveryTag = -1;
+            while (count < max) {
+                GetResponse parked = channel.basicGet(RabbitConfig.WALLET_PARKING_LOT, false);
+                if (parked == null) {
+                    break;
+                }
+                Map<String, Object> headers = new HashMap<>();
+                if (parked.getProps().getHeaders() != null) {
+                    headers.putAll(parked.getProps().getHeaders());
+                }
+                headers.remove(RETRY_COUNT_HEADER);
+                headers.remove(EXCEPTION_HEADER);
+
+                channel.basicPublish("", RabbitConfig.WALLET_QUEUE, parked.getProps().builder().headers(headers).build(),
+                        parked.getBody());
+                lastDeliveryTag = parked.getEnvelope().getDeliveryTag();
+                count++;
+            }
+            if (count > 0) {
+                channel.waitForConfirmsOrDie(confirmTimeout.toMillis());
+                channel.basicAck(lastDeliveryTag, true);
+            }
+            return count;
+        });
+        log.info("Replayed {} parked wallet messages", replayed);
+        return replayed == null ? 0 : replayed;
+    }
+
+    private void publishConfirmed(String routingKey, Message message) {
+        rabbitTemplate.invoke(operations -> {
+            operations.send(RabbitConfig.WALLET_RETRY_EXCHANGE, routingKey, message);
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+    }
+
+    private static int retryCount(MessageProperties properties) {
+        Object count = properties.getHeader(RETRY_COUNT_HEADER);
+        return count instanceof Number number ? number.intValue() : 0;
+    }
+}
@@ -3,25 +3,43 @@ package br.com.sysmap.bootcamp.domain.service;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.entities.Wallet;
 import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
+import br.com.sysmap.bootcamp.domain.exception.InsufficientBalanceException;
 import br.com.sysmap.bootcamp.domain.repository.WalletRepository;
 import br.com.sysmap.bootcamp.dto.WalletDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @RequiredArgsConstructor
 @Service
 public class WalletService {
 
-    private final UsersService usersService;
     private final WalletRepository walletRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final WalletCache walletCache;
+    private final ProcessedEventStore processedEventStore;
+
+    @Value("${wallet.allow-overdraft:true}")
+    private boolean allowOverdraft;
+
+    private static final String BATCH_DEBIT_SQL = "UPDATE WALLET SET balance = balance - ?, points = points + ?, last_update = ? " +
+            "WHERE users_id = (SELECT id FROM USERS WHERE email = ?) AND (? OR balance >= ?)";
 
     private static final Map<DayOfWeek, Long> POINTS_PER_DAY = new HashMap<>();
     static {
@@ -34,34 +52,132 @@ public class WalletService {
         POINTS_PER_DAY.put(DayOfWeek.SATURDAY, 20L);
     }
 
+    // Single UPDATE statements keep concurrent debits and credits from losing each other's writes; the cached
+    // wallet is evicted rather than re-read, so each write stays one round trip and the next read repopulates it
+    @Transactional(propagation = Propagation.REQUIRED)
     public void debit(WalletDto walletDto) {
-        Users users = usersService.findByEmail(walletDto.getEmail());
-        Wallet wallet = walletRepository.findByUsers(users).orElseThrow(
-                () -> new EntityNotFoundException("User not found"));
+        if (walletDto.getEventId() != null && processedEventStore.claim(List.of(walletDto.getEventId())).isEmpty()) {
+            return;
+        }
+
+        int updated = walletRepository.debit(walletDto.getEmail(), walletDto.getValue(), calculatePoints(),
+                LocalDateTime.now(), allowOverdraft);
+
+        if (updated == 0) {
+            if (!walletRepository.existsByUsersEmail(walletDto.getEmail())) {
+                throw new EntityNotFoundException("User not found");
+            }
+            throw new InsufficientBalanceException("Insufficient balance for user: " + walletDto.getEmail());
+        }
+        walletCache.evictAfterCommit(walletDto.getEmail());
+    }
 
-        wallet.setBalance(wallet.getBalance().subtract(walletDto.getValue()));
+    // Debits of the same user are coalesced into one row update and all users go out in a single JDBC batch.
+    // A user whose combined debit is rejected falls back to one debit at a time; the debits that still cannot
+    // apply are returned instead of thrown, so they never roll back or requeue the rest of the batch.
+    @Transactional(propagation = Propagation.REQUIRED)
+    public List<DebitRejection> debitBatch(List<WalletDto> walletDtos) {
+        List<WalletDto> pending = withoutProcessedEvents(walletDtos);
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, List<WalletDto>> debitsByEmail = new LinkedHashMap<>();
+        for (WalletDto walletDto : pending) {
+            debitsByEmail.computeIfAbsent(walletDto.getEmail(), email -> new ArrayList<>()).add(walletDto);
+        }
+
+        long pointsPerDebit = calculatePoints();
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<String> emails = new ArrayList<>(debitsByEmail.keySet());
+        List<Object[]> args = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            List<WalletDto> debits = debitsByEmail.get(email);
+            BigDecimal amount = debits.stream().map(WalletDto::getValue).reduce(BigDecimal.ZERO, BigDecimal::add);
+            args.add(new Object[]{amount, debits.size() * pointsPerDebit, updatedAt, email, allowOverdraft, amount});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(BATCH_DEBIT_SQL, args);
+        List<DebitRejection> rejections = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejections.addAll(debitOneByOne(emails.get(i), debitsByEmail.get(emails.get(i))));
+            }
+        }
+
+        // A rejected event was not applied, so its claim is dropped and a retry of it is not taken for a duplicate
+        List<UUID> rejectedEvents = new ArrayList<>();
+        for (DebitRejection rejection : rejections) {
+            if (rejection.walletDto().getEventId() != null) {
+                rejectedEvents.add(rejection.walletDto().getEventId());
+            }
+        }
+        if (!rejectedEvents.isEmpty()) {
+            processedEventStore.release(rejectedEvents);
+        }
+
+        emails.forEach(walletCache::evictAfterCommit);
+        return rejections;
+    }
 
-        wallet.setPoints(wallet.getPoints() + calculatePoints());
-        wallet.setLastUpdate(LocalDateTime.now());
+    private List<DebitRejection> debitOneByOne(String email, List<WalletDto> debits) {
+        List<DebitRejection> rejections = new ArrayList<>();
+        if (!walletRepository.existsByUsersEmail(email)) {
+            EntityNotFoundException notFound = new EntityNotFoundException("User not found: " + email);
+            debits.forEach(walletDto -> rejections.add(new DebitRejection(walletDto, notFound)));
+            return rejections;
+        }
+
+        for (WalletDto walletDto : debits) {
+            int updated = walletRepository.debit(email, walletDto.getValue(), calculatePoints(), LocalDateTime.now(), allowOverdraft);
+            if (updated == 0) {
+                rejections.add(new DebitRejection(walletDto, new InsufficientBalanceException("Insufficient balance for user: " + email)));
+            }
+        }
+        return rejections;
+    }
 
-        walletRepository.save(wallet);
+    // Redelivered events, including copies inside the same batch, are dropped; messages from producers without event ids always apply
+    private List<WalletDto> withoutProcessedEvents(List<WalletDto> walletDtos) {
+        List<UUID> eventIds = new ArrayList<>(walletDtos.size());
+        for (WalletDto walletDto : walletDtos) {
+            if (walletDto.getEventId() != null) {
+                eventIds.add(walletDto.getEventId());
+            }
+        }
+        if (eventIds.isEmpty()) {
+            return walletDtos;
+        }
+
+        Set<UUID> claimed = new HashSet<>(processedEventStore.claim(eventIds));
+        List<WalletDto> pending = new ArrayList<>(walletDtos.size());
+        for (WalletDto walletDto : walletDtos) {
+            if (walletDto.getEventId() == null || claimed.remove(walletDto.getEventId())) {
+                pending.add(walletDto);
+            }
+        }
+        return pending;
     }
 
     @Transactional(propagation = Propagation.REQUIRED)
     public void creditWallet(BigDecimal value, Users user) {
-        Wallet wallet = this.walletRepository.findByUsers(user).orElseThrow(
-                () -> new EntityNotFoundException("User not found"));
-
+        int updated = walletRepository.credit(user.getId(), value, 0L, LocalDateTime.now());
 
-        wallet.setBalance(wallet.getBalance().add(value));
-        walletRepository.save(wallet);
+        if (updated == 0) {
+            throw new EntityNotFoundException("User not found");
+        }
+        walletCache.evictAfterCommit(user.getEmail());
     }
 
 
-    @Transactional(readOnly = true)
     public Wallet getWallet(Users user){
-        return this.walletRepository.findByUsers(user).orElseThrow(
-                () -> new EntityNotFoundException("User not found"));
+        return getWalletSnapshot(user).wallet();
+    }
+
+    // No surrounding transaction: a cache hit must not check out a connection
+    public WalletCache.Snapshot getWalletSnapshot(Users user) {
+        return walletCache.get(user.getEmail(), email -> this.walletRepository.findByUsers(user).orElseThrow(
+                () -> new EntityNotFoundException("User not found")));
     }
 
     public Long calculatePoints() {
@@ -71,4 +187,6 @@ public class WalletService {
         return points;
     }
 
+    public record DebitRejection(WalletDto walletDto, RuntimeException cause) {
+    }
 }
@@ -0,0 +1,29 @@
+package br.com.sysmap.bootcamp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportReportDto {
+
+    private boolean completed;
+    private long processed;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private List<RowError> errors;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long line;
+        private String email;
+        private String message;
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.sysmap.bootcamp.dto;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Public view of a user for listings; the password hash never leaves the service.
+ */
+@Getter
+@AllArgsConstructor
+public class UserDto {
+
+    private Long id;
+    private String name;
+    private String email;
+
+    public static UserDto from(Users users) {
+        return new UserDto(users.getId(), users.getName(), users.getEmail());
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.sysmap.bootcamp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportDto {
+
+    private String name;
+    private String email;
+    private String password;
+}
@@ -6,12 +6,21 @@ import lombok.Setter;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.UUID;
 
 @Getter
 @Setter
 @AllArgsConstructor
 public class WalletDto implements Serializable {
 
+    // Pinned to the value computed before eventId existed, so queued Java-serialized messages still decode
+    private static final long serialVersionUID = -9184982635914426962L;
+
     private String email;
     private BigDecimal value;
+    private UUID eventId;
+
+    public WalletDto(String email, BigDecimal value) {
+        this(email, value, null);
+    }
 }
@@ -1,9 +1,14 @@
 package br.com.sysmap.bootcamp.web.controller;
 
 import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.service.UserImportService;
 import br.com.sysmap.bootcamp.domain.service.UsersService;
 import br.com.sysmap.bootcamp.dto.AuthDto;
+import br.com.sysmap.bootcamp.dto.CursorPageDto;
+import br.com.sysmap.bootcamp.dto.ImportReportDto;
+import br.com.sysmap.bootcamp.dto.UserDto;
 import br.com.sysmap.bootcamp.web.exception.ErrorMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,10 +16,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Tag(name = "Users", description = "Users API")
@@ -24,6 +35,8 @@ import java.util.List;
 @RequestMapping("/users")
 public class UsersController {
     private final UsersService usersService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Save user", description = "Feature to create a new user",
             responses = {
@@ -64,6 +77,55 @@ public class UsersController {
         return ResponseEntity.ok(usersService.getAll());
     }
 
+    @Operation(summary = "List users page", description = "Keyset paginated listing of registered users ordered by id",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of registered users and the cursor of the next page",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class)))
+            })
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDto<UserDto>> findUsersPage(@RequestParam(value = "after", required = false) Long after,
+                                                                @RequestParam(value = "size", defaultValue = "50") int size) {
+        CursorPageDto<Users> page = usersService.getPage(after, size);
+        return ResponseEntity.ok(new CursorPageDto<>(page.getItems().stream().map(UserDto::from).toList(), page.getNextCursor()));
+    }
+
+    @Operation(summary = "Stream users", description = "Streams every registered user as newline-delimited JSON",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "One user per line",
+                            content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = UserDto.class)))
+            })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        StreamingResponseBody body = outputStream -> usersService.streamAll(user -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(UserDto.from(user)));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Import users", description = "Bulk creates users from newline-delimited JSON, one user per line. Requires the admin role.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "One progress line per imported chunk, then the final report with the rejected rows",
+                            content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ImportReportDto.class))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Forbidden for users without the admin role")
+            })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importUsers(InputStream input) {
+        StreamingResponseBody body = outputStream -> {
+            ImportReportDto report = userImportService.importUsers(input, progress -> writeLine(outputStream, progress));
+            writeLine(outputStream, report);
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @Operation(summary = "Update user", description = "Update user information",
             responses = {
                     @ApiResponse(responseCode = "204", description = "User updated successfully"),
@@ -72,7 +134,8 @@ public class UsersController {
             })
     @PutMapping("/update")
     public ResponseEntity<String> updateUser(@RequestBody Users updatedUser) {
-        Users currentUser = usersService.getUserByContext();
+        // The principal may only carry token claims, so updates start from the full row
+        Users currentUser = usersService.getById(usersService.getUserByContext().getId());
 
         currentUser.toBuilder()
                 .name(updatedUser.getName())
@@ -98,4 +161,14 @@ public class UsersController {
         return ResponseEntity.ok(this.usersService.auth(user));
     }
 
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
@@ -3,6 +3,8 @@ package br.com.sysmap.bootcamp.web.controller;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.entities.Wallet;
 import br.com.sysmap.bootcamp.domain.service.UsersService;
+import br.com.sysmap.bootcamp.domain.service.WalletCache;
+import br.com.sysmap.bootcamp.domain.service.WalletRetryService;
 import br.com.sysmap.bootcamp.domain.service.WalletService;
 import br.com.sysmap.bootcamp.web.exception.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +13,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -23,24 +26,32 @@ import java.math.BigDecimal;
 @RestController
 @RequestMapping("/wallet")
 public class WalletController {
+    private static final int MAX_REPLAY = 1000;
 
     private final WalletService walletService;
     private final UsersService usersService;
+    private final WalletRetryService walletRetryService;
 
     @Operation(summary = "My Wallet", description = "Feature that presents the user with their wallet",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Resource retrieved successfully",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = Wallet.class))),
+                    @ApiResponse(responseCode = "304", description = "Wallet unchanged since the ETag sent in If-None-Match"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
                     @ApiResponse(responseCode = "404", description = "Resource not found",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class)))
             })
+    // The ETag lets Spring answer If-None-Match with 304; with a cached snapshot that touches no database at all
     @GetMapping
     public ResponseEntity<Wallet> getWallet() {
         Users users = usersService.getUserByContext();
+        WalletCache.Snapshot snapshot = walletService.getWalletSnapshot(users);
 
-        return ResponseEntity.ok(walletService.getWallet(users));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.etag())
+                .body(snapshot.wallet());
     }
 
     @Operation(summary = "Credit value in wallet", description = "Feature that allows users to add credits to their wallet",
@@ -57,4 +68,18 @@ public class WalletController {
         return ResponseEntity.ok("Credits added successfully to wallet");
     }
 
+    @Operation(summary = "Replay parked wallet messages", description = "Moves messages that used up every retry back onto WalletQueue. Max is capped at 1000. Requires the admin role.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Number of messages replayed",
+                            content = @Content(mediaType = "text/plain")),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorMessage.class))),
+                    @ApiResponse(responseCode = "403", description = "Forbidden for users without the admin role")
+            })
+    @PostMapping("/parking-lot/replay")
+    public ResponseEntity<String> replayParkedMessages(@RequestParam(value = "max", defaultValue = "100") int max) {
+        int replayed = walletRetryService.replayParked(Math.min(Math.max(max, 1), MAX_REPLAY));
+        return ResponseEntity.ok("Replayed " + replayed + " parked wallet messages");
+    }
+
 }
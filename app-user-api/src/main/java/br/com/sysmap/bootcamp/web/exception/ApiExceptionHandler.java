@@ -2,6 +2,7 @@ package br.com.sysmap.bootcamp.web.exception;
 
 
 import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
+import br.com.sysmap.bootcamp.domain.exception.InsufficientBalanceException;
 import br.com.sysmap.bootcamp.domain.exception.InvalidRegistrationInformationException;
 import br.com.sysmap.bootcamp.domain.exception.UserAlreadyExistsException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -42,4 +43,13 @@ public class ApiExceptionHandler {
                 .body(new ErrorMessage(request, HttpStatus.CONFLICT, ex.getMessage()));
     }
 
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<ErrorMessage> insufficientBalanceException(RuntimeException ex, HttpServletRequest request) {
+        log.error("API Error - ", ex);
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage()));
+    }
+
 }
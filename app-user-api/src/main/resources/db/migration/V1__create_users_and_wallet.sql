@@ -0,0 +1,15 @@
+-- Tables previously created by Hibernate; IF NOT EXISTS keeps this safe on databases that already have them.
+CREATE TABLE IF NOT EXISTS USERS (
+    ID       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    NAME     VARCHAR(255) NOT NULL,
+    EMAIL    VARCHAR(255) NOT NULL,
+    PASSWORD VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS WALLET (
+    ID          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    BALANCE     NUMERIC(38, 2),
+    POINTS      BIGINT,
+    LAST_UPDATE TIMESTAMP(6),
+    USERS_ID    BIGINT
+);
@@ -0,0 +1,5 @@
+-- UsersRepository.findByEmail and every e-mail keyed wallet update
+CREATE UNIQUE INDEX IF NOT EXISTS UX_USERS_EMAIL ON USERS (EMAIL);
+
+-- WalletRepository.findByUsers and the credit/debit updates; one wallet per user
+CREATE UNIQUE INDEX IF NOT EXISTS UX_WALLET_USERS_ID ON WALLET (USERS_ID);
@@ -0,0 +1,8 @@
+-- Wallet events already applied; the primary key is what makes a redelivered debit a no-op
+CREATE TABLE IF NOT EXISTS PROCESSED_EVENT (
+    EVENT_ID     UUID PRIMARY KEY,
+    PROCESSED_AT TIMESTAMP NOT NULL
+);
+
+-- ProcessedEventStore.purge
+CREATE INDEX IF NOT EXISTS IX_PROCESSED_EVENT_PROCESSED_AT ON PROCESSED_EVENT (PROCESSED_AT);
@@ -0,0 +1,78 @@
+package br.com.sysmap.bootcamp.benchmark;
+
+import br.com.sysmap.bootcamp.config.PasswordVerifier;
+import br.com.sysmap.bootcamp.config.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticated requests per second spent on password verification:
+ * {@code bcryptEveryRequest} is the previous behaviour, {@code memoizedVerifier} the current one.
+ * Run with {@code main} from the test classpath.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class PasswordVerificationBenchmark {
+
+    private static final String EMAIL = "bench@test.com";
+    private static final String RAW_PASSWORD = "bench-password";
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
+    private String storedPassword;
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BCryptPasswordEncoder();
+        storedPassword = passwordEncoder.encode(RAW_PASSWORD);
+        PrincipalCache principalCache = new PrincipalCache(meterRegistry, 10_000, Duration.ofSeconds(60));
+        passwordVerifier = new PasswordVerifier(passwordEncoder, principalCache, meterRegistry,
+                0, 256, 256, 10_000, Duration.ofMinutes(15), Duration.ofSeconds(30), 0, 64);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordVerifier.shutdown();
+    }
+
+    @Benchmark
+    public boolean bcryptEveryRequest() {
+        return passwordEncoder.matches(RAW_PASSWORD, storedPassword);
+    }
+
+    @Benchmark
+    public boolean memoizedVerifier() {
+        return passwordVerifier.matches(EMAIL, RAW_PASSWORD, storedPassword);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.sysmap.bootcamp.benchmark;
+
+import br.com.sysmap.bootcamp.BootcampSysmapApplication;
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.repository.UsersRepository;
+import br.com.sysmap.bootcamp.domain.service.UsersService;
+import br.com.sysmap.bootcamp.dto.CursorPageDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Latency percentiles of the read paths hit on every request, under concurrent load, with SQL
+ * echo on (the previous default) and off (the {@code prod} profile). Runs on the test H2 database
+ * by default; to measure the Hikari and PgJDBC statement-cache settings as well, run it with
+ * {@code -Dbenchmark.profiles=prod} and the POSTGRES_* variables pointing at a database.
+ * Run with {@code main} from the test classpath.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class QueryLatencyBenchmark {
+
+    private static final int USERS = 1_000;
+
+    @Param({"true", "false"})
+    private boolean showSql;
+
+    private ConfigurableApplicationContext context;
+    private UsersService usersService;
+
+    @Setup
+    public void setup() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BootcampSysmapApplication.class)
+                .properties("logging.level.root=WARN", "spring.rabbitmq.listener.simple.auto-startup=false");
+        String profiles = System.getProperty("benchmark.profiles");
+        if (profiles != null) {
+            builder.profiles(profiles.split(","));
+        }
+        // Command line arguments win over application.yml, unlike the builder's default properties
+        context = builder.run("--spring.jpa.show-sql=" + showSql);
+        usersService = context.getBean(UsersService.class);
+
+        UsersRepository usersRepository = context.getBean(UsersRepository.class);
+        List<String> emails = IntStream.range(0, USERS).mapToObj(QueryLatencyBenchmark::email).toList();
+        Set<String> existing = new HashSet<>(usersRepository.findExistingEmails(emails));
+        usersRepository.saveAll(emails.stream()
+                .filter(email -> !existing.contains(email))
+                .map(email -> Users.builder().name("Latency").email(email).password("latency").build())
+                .toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Users findByEmail() {
+        return usersService.findByEmail(email(ThreadLocalRandom.current().nextInt(USERS)));
+    }
+
+    @Benchmark
+    public CursorPageDto<Users> getPage() {
+        return usersService.getPage((long) ThreadLocalRandom.current().nextInt(USERS), 50);
+    }
+
+    private static String email(int i) {
+        return "latency-" + i + "@test.com";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(QueryLatencyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
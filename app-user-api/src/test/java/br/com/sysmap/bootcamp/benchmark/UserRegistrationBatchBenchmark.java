@@ -0,0 +1,101 @@
+package br.com.sysmap.bootcamp.benchmark;
+
+import br.com.sysmap.bootcamp.BootcampSysmapApplication;
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.entities.Wallet;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers {@code users} users with their wallets in one transaction, with JDBC batching
+ * disabled ({@code batchSize = 1}) and with the configured batch size. Pooled sequence ids let
+ * Hibernate group the inserts; with IDENTITY every row was its own round trip.
+ * Run with {@code main} from the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserRegistrationBatchBenchmark {
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"100"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private long sequence;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(BootcampSysmapApplication.class)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "spring.rabbitmq.listener.simple.auto-startup=false")
+                .run();
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int register() {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 0; i < users; i++) {
+                long id = ++sequence;
+                Users user = Users.builder()
+                        .name("Bench " + id)
+                        .email("bench-" + id + "@test.com")
+                        .password("bench")
+                        .build();
+                entityManager.persist(user);
+                entityManager.persist(Wallet.builder()
+                        .balance(BigDecimal.ZERO)
+                        .points(0L)
+                        .lastUpdate(LocalDateTime.now())
+                        .users(user)
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return users;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserRegistrationBatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
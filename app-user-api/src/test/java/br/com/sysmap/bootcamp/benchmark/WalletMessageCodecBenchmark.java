@@ -0,0 +1,79 @@
+package br.com.sysmap.bootcamp.benchmark;
+
+import br.com.sysmap.bootcamp.config.WalletMessageConverter;
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a WalletQueue message with Java serialization versus the binary layout.
+ * The bytes per message of each format are asserted in WalletMessageConverterTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WalletMessageCodecBenchmark {
+
+    private final WalletDto walletDto = new WalletDto("benchmark.user@test.com", new BigDecimal("57.83"));
+
+    private SimpleMessageConverter javaSerialization;
+    private WalletMessageConverter binary;
+    private Message javaMessage;
+    private Message binaryMessage;
+
+    @Setup
+    public void setup() {
+        javaSerialization = new SimpleMessageConverter();
+        javaSerialization.setAllowedListPatterns(List.of("br.com.sysmap.bootcamp.dto.*", "java.util.*", "java.math.*"));
+        binary = new WalletMessageConverter(javaSerialization);
+        javaMessage = javaSerialization.toMessage(walletDto, new MessageProperties());
+        binaryMessage = binary.toMessage(walletDto, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeJavaSerialization() {
+        return javaSerialization.toMessage(walletDto, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeBinary() {
+        return binary.toMessage(walletDto, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decodeJavaSerialization() {
+        return javaSerialization.fromMessage(javaMessage);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return binary.fromMessage(binaryMessage);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WalletMessageCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+package br.com.sysmap.bootcamp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordVerifierTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PrincipalCache principalCache = new PrincipalCache(meterRegistry, 100, Duration.ofMinutes(1));
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordVerifier passwordVerifier;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordVerifier.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should fail fast once the maximum number of callers is waiting for a hash")
+    void shouldFailFastWhenTooManyCallersWait() throws Exception {
+        passwordVerifier = new PasswordVerifier(passwordEncoder, principalCache, meterRegistry,
+                1, 10, 1, 100, Duration.ofMinutes(1), Duration.ofSeconds(10), 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> passwordVerifier.encode("first"));
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThrows(AuthenticationServiceException.class, () -> passwordVerifier.encode("second"));
+
+        release.countDown();
+        assertEquals("hash", waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should drop a queued hash whose caller timed out")
+    void shouldCancelTimedOutHash() throws Exception {
+        passwordVerifier = new PasswordVerifier(passwordEncoder, principalCache, meterRegistry,
+                1, 10, 10, 100, Duration.ofMinutes(1), Duration.ofMillis(100), 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        // Like BCrypt, the running hash ignores the interrupt of its cancelled caller
+        when(passwordEncoder.encode("running")).thenAnswer(invocation -> {
+            started.countDown();
+            awaitUninterruptibly(release);
+            return "hash";
+        });
+        when(passwordEncoder.encode("after")).thenReturn("hash");
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordVerifier.encode("running"));
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThrows(AuthenticationServiceException.class, () -> passwordVerifier.encode("queued"));
+
+        release.countDown();
+        assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        // The pool runs tasks in order, so the cancelled hash would have run before this one
+        assertEquals("hash", passwordVerifier.encode("after"));
+        verify(passwordEncoder, never()).encode("queued");
+    }
+
+    @Test
+    @DisplayName("Should hash bulk passwords apart from logins and on the caller once the bulk queue is full")
+    void shouldIsolateBulkHashing() throws Exception {
+        passwordVerifier = new PasswordVerifier(passwordEncoder, principalCache, meterRegistry,
+                1, 10, 10, 100, Duration.ofMinutes(1), Duration.ofSeconds(5), 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(passwordEncoder.encode("bulk-running")).thenAnswer(invocation -> {
+            started.countDown();
+            awaitUninterruptibly(release);
+            return "bulk-hash";
+        });
+        when(passwordEncoder.encode("bulk-queued")).thenReturn("bulk-hash");
+        when(passwordEncoder.encode("bulk-overflow")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(passwordEncoder.encode("login")).thenReturn("login-hash");
+
+        CompletableFuture<String> running = passwordVerifier.encodeBulk("bulk-running");
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = passwordVerifier.encodeBulk("bulk-queued");
+
+        assertEquals("login-hash", passwordVerifier.encode("login"));
+        assertEquals(Thread.currentThread().getName(), passwordVerifier.encodeBulk("bulk-overflow").getNow(null));
+
+        release.countDown();
+        assertEquals("bulk-hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("bulk-hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException ignored) {
+                // keep waiting, as a running BCrypt hash would
+            }
+        }
+    }
+}
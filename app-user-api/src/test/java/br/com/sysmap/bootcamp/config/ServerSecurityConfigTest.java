@@ -0,0 +1,72 @@
+package br.com.sysmap.bootcamp.config;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.service.UserImportService;
+import br.com.sysmap.bootcamp.domain.service.WalletRetryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:security;DB_CLOSE_DELAY=-1",
+        "security.admin-emails=Admin@Test.com"})
+@AutoConfigureMockMvc
+class ServerSecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @MockBean
+    private WalletRetryService walletRetryService;
+
+    @Test
+    @DisplayName("Should only let admins import users")
+    public void shouldRestrictImportToAdmins() throws Exception {
+        mockMvc.perform(post("/users/import").contentType(MediaType.APPLICATION_NDJSON).content(""))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/users/import").contentType(MediaType.APPLICATION_NDJSON).content("")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("user@test.com")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/users/import").contentType(MediaType.APPLICATION_NDJSON).content("")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("admin@test.com")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should only let admins replay parked wallet messages")
+    public void shouldRestrictReplayToAdmins() throws Exception {
+        mockMvc.perform(post("/wallet/parking-lot/replay")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("user@test.com")))
+                .andExpect(status().isForbidden());
+        verify(walletRetryService, never()).replayParked(anyInt());
+
+        mockMvc.perform(post("/wallet/parking-lot/replay")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("admin@test.com")))
+                .andExpect(status().isOk());
+        verify(walletRetryService).replayParked(100);
+    }
+
+    private String bearer(String email) {
+        return "Bearer " + tokenService.issue(Users.builder().id(1L).email(email).build());
+    }
+}
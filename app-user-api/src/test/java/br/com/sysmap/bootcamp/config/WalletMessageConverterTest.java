@@ -0,0 +1,98 @@
+package br.com.sysmap.bootcamp.config;
+
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletMessageConverterTest {
+
+    private final SimpleMessageConverter legacyConverter = legacyConverter();
+    private final WalletMessageConverter converter = new WalletMessageConverter(legacyConverter);
+
+    @Test
+    @DisplayName("Should round trip a wallet message through the binary layout")
+    void shouldRoundTripWalletMessage() {
+        WalletDto walletDto = new WalletDto("test@test.com", new BigDecimal("42.50"));
+
+        Message message = converter.toMessage(walletDto, new MessageProperties());
+        WalletDto decoded = (WalletDto) converter.fromMessage(message);
+
+        assertEquals(WalletMessageConverter.CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertEquals(walletDto.getEmail(), decoded.getEmail());
+        assertEquals(walletDto.getValue(), decoded.getValue());
+    }
+
+    @Test
+    @DisplayName("Should carry the event id through the version 2 layout")
+    void shouldRoundTripEventId() {
+        WalletDto walletDto = new WalletDto("test@test.com", new BigDecimal("42.50"), UUID.randomUUID());
+
+        WalletDto decoded = (WalletDto) converter.fromMessage(converter.toMessage(walletDto, new MessageProperties()));
+
+        assertEquals(walletDto.getEventId(), decoded.getEventId());
+        assertEquals(walletDto.getEmail(), decoded.getEmail());
+        assertEquals(walletDto.getValue(), decoded.getValue());
+    }
+
+    @Test
+    @DisplayName("Should decode version 1 messages without an event id")
+    void shouldDecodeVersionOneMessage() {
+        byte[] email = "v1@test.com".getBytes(StandardCharsets.UTF_8);
+        byte[] body = ByteBuffer.allocate(15 + email.length)
+                .put((byte) 1)
+                .putInt(2)
+                .putLong(4250L)
+                .putShort((short) email.length)
+                .put(email)
+                .array();
+
+        WalletDto decoded = converter.decode(body);
+
+        assertEquals("v1@test.com", decoded.getEmail());
+        assertEquals(new BigDecimal("42.50"), decoded.getValue());
+        assertNull(decoded.getEventId());
+    }
+
+    @Test
+    @DisplayName("Should still decode Java-serialized wallet messages")
+    void shouldDecodeLegacyJavaSerializedMessage() {
+        WalletDto walletDto = new WalletDto("legacy@test.com", BigDecimal.TEN);
+
+        Message message = legacyConverter.toMessage(walletDto, new MessageProperties());
+        WalletDto decoded = (WalletDto) converter.fromMessage(message);
+
+        assertEquals(walletDto.getEmail(), decoded.getEmail());
+        assertEquals(walletDto.getValue(), decoded.getValue());
+    }
+
+    @Test
+    @DisplayName("Should encode a wallet message in a fraction of the Java-serialized size")
+    void shouldEncodeCompactly() {
+        WalletDto walletDto = new WalletDto("benchmark.user@test.com", new BigDecimal("57.83"), UUID.randomUUID());
+        int emailLength = walletDto.getEmail().getBytes(StandardCharsets.UTF_8).length;
+
+        int binarySize = converter.toMessage(walletDto, new MessageProperties()).getBody().length;
+        int javaSize = legacyConverter.toMessage(walletDto, new MessageProperties()).getBody().length;
+
+        // version, scale, unscaled value, event id, e-mail length, e-mail
+        assertEquals(1 + 4 + 8 + 16 + 2 + emailLength, binarySize);
+        assertTrue(binarySize * 4 < javaSize, "binary=" + binarySize + " java-serialization=" + javaSize);
+    }
+
+    private static SimpleMessageConverter legacyConverter() {
+        SimpleMessageConverter legacyConverter = new SimpleMessageConverter();
+        legacyConverter.setAllowedListPatterns(List.of("br.com.sysmap.bootcamp.dto.*", "java.util.*", "java.math.*"));
+        return legacyConverter;
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.sysmap.bootcamp.domain.listeners;
+
+import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
+import br.com.sysmap.bootcamp.domain.service.WalletService;
+import br.com.sysmap.bootcamp.domain.service.WalletService.DebitRejection;
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class WalletLanesTest {
+
+    private static final int LANES = 4;
+
+    private final WalletService walletService = mock(WalletService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WalletLanes walletLanes = new WalletLanes(walletService, meterRegistry, LANES);
+
+    @AfterEach
+    void tearDown() {
+        walletLanes.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should keep each user's debits together and in delivery order")
+    void shouldKeepPerUserOrder() {
+        List<List<WalletDto>> shards = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            shards.add(invocation.getArgument(0));
+            return List.of();
+        }).when(walletService).debitBatch(anyList());
+
+        List<WalletDto> batch = IntStream.range(0, 200)
+                .mapToObj(i -> new WalletDto("user-" + (i % 10) + "@test.com", BigDecimal.valueOf(i), UUID.randomUUID()))
+                .toList();
+        walletLanes.dispatch(batch);
+
+        assertEquals(batch.size(), shards.stream().mapToInt(List::size).sum());
+        assertTrue(shards.size() > 1);
+        for (List<WalletDto> shard : shards) {
+            int lane = walletLanes.laneOf(shard.get(0).getEmail());
+            shard.forEach(walletDto -> assertEquals(lane, walletLanes.laneOf(walletDto.getEmail())));
+
+            for (String email : shard.stream().map(WalletDto::getEmail).distinct().toList()) {
+                List<WalletDto> expected = batch.stream().filter(walletDto -> walletDto.getEmail().equals(email)).toList();
+                List<WalletDto> actual = shard.stream().filter(walletDto -> walletDto.getEmail().equals(email)).toList();
+                assertEquals(expected, actual);
+            }
+        }
+        assertEquals(0.0, meterRegistry.get("wallet.listener.lane.backlog").gauges().stream()
+                .mapToDouble(gauge -> gauge.value()).sum());
+    }
+
+    @Test
+    @DisplayName("Should report every debit of a failed lane with the lane's exception after every lane finished")
+    void shouldReportFailedLaneDebits() {
+        EntityNotFoundException failure = new EntityNotFoundException("User not found: missing@test.com");
+        doAnswer(invocation -> {
+            List<WalletDto> shard = invocation.getArgument(0);
+            if (shard.stream().anyMatch(walletDto -> walletDto.getEmail().equals("missing@test.com"))) {
+                throw failure;
+            }
+            return List.of();
+        }).when(walletService).debitBatch(anyList());
+
+        List<WalletDto> batch = IntStream.range(0, 20)
+                .mapToObj(i -> new WalletDto(i == 0 ? "missing@test.com" : "user-" + i + "@test.com", BigDecimal.ONE, UUID.randomUUID()))
+                .toList();
+        int failedLane = walletLanes.laneOf("missing@test.com");
+
+        List<DebitRejection> rejections = walletLanes.dispatch(batch);
+
+        assertEquals(batch.stream().filter(walletDto -> walletLanes.laneOf(walletDto.getEmail()) == failedLane).toList(),
+                rejections.stream().map(DebitRejection::walletDto).toList());
+        rejections.forEach(rejection -> assertSame(failure, rejection.cause()));
+        assertTrue(rejections.size() < batch.size());
+    }
+
+    @Test
+    @DisplayName("Should debit a batch holding a message without event id in a single call")
+    void shouldKeepBatchWithoutEventIdOnOneLane() {
+        List<List<WalletDto>> shards = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            shards.add(invocation.getArgument(0));
+            return List.of();
+        }).when(walletService).debitBatch(anyList());
+
+        List<WalletDto> batch = new ArrayList<>(IntStream.range(0, 20)
+                .mapToObj(i -> new WalletDto("user-" + i + "@test.com", BigDecimal.ONE, UUID.randomUUID()))
+                .toList());
+        batch.add(new WalletDto("legacy@test.com", BigDecimal.ONE));
+        walletLanes.dispatch(batch);
+
+        assertEquals(List.of(batch), shards);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.sysmap.bootcamp.domain.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should look users up by e-mail through the unique index")
+    public void shouldUseEmailIndex() {
+        String plan = explain("SELECT * FROM USERS WHERE EMAIL = 'plan@test.com'");
+
+        assertTrue(plan.contains("UX_USERS_EMAIL"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    @DisplayName("Should look wallets up by user through the unique index")
+    public void shouldUseWalletUserIndex() {
+        String plan = explain("SELECT * FROM WALLET WHERE USERS_ID = 1");
+
+        assertTrue(plan.contains("UX_WALLET_USERS_ID"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.config.PasswordVerifier;
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.repository.UsersRepository;
+import br.com.sysmap.bootcamp.domain.repository.WalletRepository;
+import br.com.sysmap.bootcamp.dto.ImportReportDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-import;DB_CLOSE_DELAY=-1",
+        "users.import.chunk-size=2"
+})
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @SpyBean
+    private PasswordVerifier passwordVerifier;
+
+    @Test
+    @DisplayName("Should import valid rows and report duplicates and invalid rows by line")
+    void shouldImportValidRowsAndReportTheRest() throws Exception {
+        usersRepository.save(Users.builder().name("existing").email("existing@import.com").password("test").build());
+
+        String input = String.join("\n",
+                "{\"name\":\"first\",\"email\":\"first@import.com\",\"password\":\"secret\"}",
+                "{\"name\":\"existing\",\"email\":\"existing@import.com\",\"password\":\"secret\"}",
+                "not-json",
+                "",
+                "{\"name\":\"second\",\"email\":\"second@import.com\",\"password\":\"secret\"}",
+                "{\"name\":\"again\",\"email\":\"first@import.com\",\"password\":\"secret\"}",
+                "{\"name\":\"blank\",\"email\":\"blank@import.com\",\"password\":\"\"}");
+
+        List<ImportReportDto> progress = new ArrayList<>();
+        ImportReportDto report = userImportService.importUsers(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), progress::add);
+
+        assertTrue(report.isCompleted());
+        assertEquals(6, report.getProcessed());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(2L, 3L, 6L, 7L), report.getErrors().stream().map(ImportReportDto.RowError::getLine).sorted().toList());
+
+        assertFalse(progress.isEmpty());
+        assertNull(progress.get(0).getErrors());
+
+        Users first = usersRepository.findByEmail("first@import.com").orElseThrow();
+        assertFalse("secret".equals(first.getPassword()));
+        assertTrue(walletRepository.findByUsers(first).isPresent());
+        assertTrue(walletRepository.existsByUsersEmail("second@import.com"));
+        assertTrue(usersRepository.findByEmail("blank@import.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report a chunk whose hashing failed and keep importing the next chunks")
+    void shouldSkipChunkWhoseHashingFailed() throws Exception {
+        doReturn(CompletableFuture.failedFuture(new RejectedExecutionException("Bulk hashing pool shut down")))
+                .when(passwordVerifier).encodeBulk("unhashable");
+
+        String input = String.join("\n",
+                "{\"name\":\"lost\",\"email\":\"lost@import.com\",\"password\":\"secret\"}",
+                "{\"name\":\"broken\",\"email\":\"broken@import.com\",\"password\":\"unhashable\"}",
+                "{\"name\":\"later\",\"email\":\"later@import.com\",\"password\":\"secret\"}");
+
+        ImportReportDto report = userImportService.importUsers(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), progress -> { });
+
+        assertTrue(report.isCompleted());
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(1L, 2L), report.getErrors().stream().map(ImportReportDto.RowError::getLine).sorted().toList());
+        assertTrue(usersRepository.findByEmail("lost@import.com").isEmpty());
+        assertTrue(usersRepository.findByEmail("later@import.com").isPresent());
+    }
+}
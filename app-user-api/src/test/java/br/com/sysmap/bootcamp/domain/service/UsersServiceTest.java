@@ -1,5 +1,9 @@
 package br.com.sysmap.bootcamp.domain.service;
 
+import br.com.sysmap.bootcamp.config.AuthenticatedUser;
+import br.com.sysmap.bootcamp.config.CustomAuthenticationProvider;
+import br.com.sysmap.bootcamp.config.PrincipalCache;
+import br.com.sysmap.bootcamp.config.TokenService;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.entities.Wallet;
 import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
@@ -13,6 +17,9 @@ import org.mockito.Mock;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
@@ -23,6 +30,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 //ok
@@ -35,6 +44,15 @@ public class UsersServiceTest {
     @Autowired
     private WalletService walletService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private CustomAuthenticationProvider authenticationProvider;
+
     @MockBean
     private PasswordEncoder passwordEncoder;
 
@@ -160,7 +178,7 @@ public class UsersServiceTest {
     @Test
     @DisplayName("Should return wallet when informed user exists")
     void shouldReturnWalletWhenUserExists() {
-        Users user = Users.builder().id(1L).build();
+        Users user = Users.builder().id(1L).email("wallet@test.com").build();
         Wallet wallet = Wallet.builder().id(1L).balance(BigDecimal.TEN).points(0L).build();
         when(walletRepository.findByUsers(user)).thenReturn(Optional.of(wallet));
 
@@ -172,7 +190,7 @@ public class UsersServiceTest {
     @Test
     @DisplayName("Should return exception when user does not exist")
     void shouldReturnExceptionWhenUserDoesNotExist() {
-        Users user = Users.builder().id(1L).build();
+        Users user = Users.builder().id(1L).email("missing-wallet@test.com").build();
         when(walletRepository.findByUsers(user)).thenThrow(EntityNotFoundException.class);
 
         assertThrows(EntityNotFoundException.class, () -> walletService.getWallet(user));
@@ -216,6 +234,22 @@ public class UsersServiceTest {
         assertEquals("Invalid password", thrown.getMessage());
     }
 
+    @Test
+    @DisplayName("Should reject the stored password hash presented as the password")
+    public void shouldRejectStoredHashAsPassword() {
+        Users users = Users.builder()
+                .id(1L)
+                .email("hash@test.com")
+                .name("test")
+                .password("$2a$10$storedhash").build();
+
+        when(usersRepository.findByEmail(users.getEmail())).thenReturn(Optional.of(users));
+        when(passwordEncoder.matches(users.getPassword(), users.getPassword())).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> authenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken(users.getEmail(), users.getPassword())));
+    }
+
     @Test
     @DisplayName("Should update user successfully")
     public void shouldUpdateUserSuccessfully() {
@@ -266,4 +300,64 @@ public class UsersServiceTest {
             usersService.update(updatedUser);
         });
     }
+
+    @Test
+    @DisplayName("Should evict cached principal when user is updated")
+    public void shouldEvictCachedPrincipalWhenUserIsUpdated() {
+        Users users = Users.builder()
+                .id(1L)
+                .name("test")
+                .email("cached@test.com")
+                .password("test")
+                .build();
+        principalCache.put(users.getEmail(), "test", new AuthenticatedUser(users));
+
+        when(usersRepository.findByEmail(users.getEmail())).thenReturn(Optional.empty());
+        when(usersRepository.save(any(Users.class))).thenReturn(users);
+
+        usersService.update(users);
+
+        assertTrue(principalCache.get(users.getEmail(), "test").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should issue a signed token that validates without the database")
+    public void shouldIssueSignedTokenOnAuth() {
+        AuthDto authDto = new AuthDto("test@test.com", "test", 1L, "");
+        Users users = Users.builder()
+                .id(1L)
+                .email("test@test.com")
+                .name("test")
+                .password("test").build();
+
+        when(usersRepository.findByEmail(users.getEmail())).thenReturn(Optional.of(users));
+        when(passwordEncoder.matches(authDto.getPassword(), users.getPassword())).thenReturn(true);
+
+        AuthDto result = usersService.auth(authDto);
+        var claims = tokenService.validate(result.getToken());
+
+        assertTrue(claims.isPresent());
+        assertEquals(users.getEmail(), claims.get().email());
+        assertEquals(users.getId(), claims.get().userId());
+        assertTrue(tokenService.validate(result.getToken() + "x").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should resolve the current user from the principal without querying the database")
+    public void shouldResolveUserFromPrincipal() {
+        Users users = Users.builder()
+                .id(1L)
+                .email("principal@test.com")
+                .name("test")
+                .password("test").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(new AuthenticatedUser(users), null, List.of()));
+
+        try {
+            assertSame(users, usersService.getUserByContext());
+            verify(usersRepository, never()).findByEmail(any());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
 }
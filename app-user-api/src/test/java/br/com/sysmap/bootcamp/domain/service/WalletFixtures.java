@@ -0,0 +1,30 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.entities.Wallet;
+import br.com.sysmap.bootcamp.domain.repository.WalletRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+final class WalletFixtures {
+
+    private WalletFixtures() {
+    }
+
+    static Users createUserWithWallet(WalletRepository walletRepository, String email, BigDecimal balance) {
+        Users users = Users.builder()
+                .name(email)
+                .email(email)
+                .password("test")
+                .build();
+        // Persisting the wallet cascades to the new user, as UsersService.save does in one transaction
+        walletRepository.save(Wallet.builder()
+                .balance(balance)
+                .points(0L)
+                .lastUpdate(LocalDateTime.now())
+                .users(users)
+                .build());
+        return users;
+    }
+}
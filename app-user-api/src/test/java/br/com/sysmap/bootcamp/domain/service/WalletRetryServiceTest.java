@@ -0,0 +1,111 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.config.RabbitConfig;
+import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WalletRetryServiceTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WalletRetryService walletRetryService = new WalletRetryService(rabbitTemplate, meterRegistry,
+            List.of(Duration.ofSeconds(1), Duration.ofSeconds(5)), Duration.ofSeconds(5));
+
+    @BeforeEach
+    void setup() {
+        // Republishes go through invoke, so the callback runs against the mock as its channel-bound operations
+        doAnswer(invocation -> invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate))
+                .when(rabbitTemplate).invoke(any());
+    }
+
+    @Test
+    @DisplayName("Should send a first failure to the shortest backoff tier")
+    void shouldSendFirstFailureToFirstTier() {
+        Message message = new Message(new byte[]{1}, new MessageProperties());
+
+        walletRetryService.retry(message, new EntityNotFoundException("User not found"));
+
+        InOrder inOrder = inOrder(rabbitTemplate);
+        inOrder.verify(rabbitTemplate).send(RabbitConfig.WALLET_RETRY_EXCHANGE, "WalletQueue.retry.1000ms", message);
+        inOrder.verify(rabbitTemplate).waitForConfirmsOrDie(5000L);
+        assertEquals(1, (Integer) message.getMessageProperties().getHeader(WalletRetryService.RETRY_COUNT_HEADER));
+        assertEquals("User not found", message.getMessageProperties().getHeader(WalletRetryService.EXCEPTION_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should move to the next tier according to the retry count header")
+    void shouldMoveToNextTier() {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(WalletRetryService.RETRY_COUNT_HEADER, 1);
+        Message message = new Message(new byte[]{1}, properties);
+
+        walletRetryService.retry(message, new EntityNotFoundException("User not found"));
+
+        verify(rabbitTemplate).send(RabbitConfig.WALLET_RETRY_EXCHANGE, "WalletQueue.retry.5000ms", message);
+        assertEquals(2, (Integer) properties.getHeader(WalletRetryService.RETRY_COUNT_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should park a message once every tier was used")
+    void shouldParkAfterLastTier() {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(WalletRetryService.RETRY_COUNT_HEADER, 2);
+        Message message = new Message(new byte[]{1}, properties);
+
+        walletRetryService.retry(message, new EntityNotFoundException("User not found"));
+
+        verify(rabbitTemplate).send(RabbitConfig.WALLET_RETRY_EXCHANGE, RabbitConfig.WALLET_PARKING_LOT, message);
+        verify(rabbitTemplate).waitForConfirmsOrDie(5000L);
+        assertEquals(1.0, meterRegistry.get("wallet.listener.parked").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should acknowledge replayed messages only after the broker confirmed their republish")
+    void shouldAckReplayedMessagesAfterConfirm() throws Exception {
+        Channel channel = mock(Channel.class);
+        when(channel.basicGet(RabbitConfig.WALLET_PARKING_LOT, false)).thenReturn(parked(1), parked(2), null);
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel));
+
+        assertEquals(2, walletRetryService.replayParked(10));
+
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel, times(2)).basicPublish(eq(""), eq(RabbitConfig.WALLET_QUEUE), any(), any());
+        inOrder.verify(channel).waitForConfirmsOrDie(5000L);
+        inOrder.verify(channel).basicAck(2L, true);
+        verify(channel, never()).basicAck(eq(1L), anyBoolean());
+    }
+
+    private static GetResponse parked(long deliveryTag) {
+        return new GetResponse(new Envelope(deliveryTag, false, RabbitConfig.WALLET_RETRY_EXCHANGE, RabbitConfig.WALLET_PARKING_LOT),
+                new AMQP.BasicProperties(), new byte[]{1}, 0);
+    }
+}
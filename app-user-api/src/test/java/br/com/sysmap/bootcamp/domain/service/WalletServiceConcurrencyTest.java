@@ -0,0 +1,84 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.entities.Wallet;
+import br.com.sysmap.bootcamp.domain.repository.WalletRepository;
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static br.com.sysmap.bootcamp.domain.service.WalletFixtures.createUserWithWallet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:wallet-concurrency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+class WalletServiceConcurrencyTest {
+
+    private static final int WRITERS = 64;
+    private static final int OPERATIONS_PER_WRITER = 25;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Test
+    @DisplayName("Should not lose updates when 64 writers credit and debit the same wallet")
+    void shouldNotLoseUpdatesUnderParallelWriters() throws Exception {
+        Users users = createUserWithWallet(walletRepository, "concurrency@test.com", BigDecimal.ZERO);
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS_PER_WRITER; j++) {
+                        walletService.creditWallet(BigDecimal.valueOf(3), users);
+                        walletService.debit(new WalletDto(users.getEmail(), BigDecimal.ONE));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Wallet wallet = walletRepository.findByUsers(users).orElseThrow();
+        BigDecimal expected = BigDecimal.valueOf(2L * WRITERS * OPERATIONS_PER_WRITER);
+        assertEquals(0, expected.compareTo(wallet.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should coalesce a batch of debits per user")
+    void shouldCoalesceBatchOfDebitsPerUser() {
+        Users first = createUserWithWallet(walletRepository, "batch-first@test.com", BigDecimal.valueOf(100));
+        Users second = createUserWithWallet(walletRepository, "batch-second@test.com", BigDecimal.valueOf(50));
+
+        walletService.debitBatch(List.of(
+                new WalletDto(first.getEmail(), BigDecimal.valueOf(10)),
+                new WalletDto(second.getEmail(), BigDecimal.valueOf(5)),
+                new WalletDto(first.getEmail(), BigDecimal.valueOf(15))));
+
+        Wallet firstWallet = walletRepository.findByUsers(first).orElseThrow();
+        Wallet secondWallet = walletRepository.findByUsers(second).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(75).compareTo(firstWallet.getBalance()));
+        assertEquals(0, BigDecimal.valueOf(45).compareTo(secondWallet.getBalance()));
+        assertEquals(2 * walletService.calculatePoints(), firstWallet.getPoints());
+    }
+}
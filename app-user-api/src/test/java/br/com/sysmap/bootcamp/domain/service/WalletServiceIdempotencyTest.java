@@ -0,0 +1,67 @@
+package br.com.sysmap.bootcamp.domain.service;
+
+import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.entities.Wallet;
+import br.com.sysmap.bootcamp.domain.exception.EntityNotFoundException;
+import br.com.sysmap.bootcamp.domain.repository.WalletRepository;
+import br.com.sysmap.bootcamp.dto.WalletDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static br.com.sysmap.bootcamp.domain.service.WalletFixtures.createUserWithWallet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:wallet-idempotency;DB_CLOSE_DELAY=-1")
+class WalletServiceIdempotencyTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Test
+    @DisplayName("Should apply each wallet event once across redeliveries and duplicates in a batch")
+    void shouldApplyEachEventOnce() {
+        Users users = createUserWithWallet(walletRepository, "idempotency@test.com", new BigDecimal("100.00"));
+
+        WalletDto first = new WalletDto(users.getEmail(), BigDecimal.TEN, UUID.randomUUID());
+        WalletDto second = new WalletDto(users.getEmail(), BigDecimal.ONE, UUID.randomUUID());
+
+        walletService.debitBatch(List.of(first, first, second));
+        walletService.debitBatch(List.of(first, second));
+        walletService.debit(first);
+        walletService.debit(new WalletDto(users.getEmail(), BigDecimal.ONE));
+
+        Wallet wallet = walletRepository.findByUsers(users).orElseThrow();
+        assertEquals(0, new BigDecimal("88.00").compareTo(wallet.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should apply the rest of a batch and release the claim of a debit that was rejected")
+    void shouldIsolateRejectedDebit() {
+        Users users = createUserWithWallet(walletRepository, "isolated@test.com", new BigDecimal("50.00"));
+        WalletDto applied = new WalletDto(users.getEmail(), BigDecimal.TEN, UUID.randomUUID());
+        WalletDto rejected = new WalletDto("late@test.com", BigDecimal.ONE, UUID.randomUUID());
+
+        List<WalletService.DebitRejection> rejections = walletService.debitBatch(List.of(applied, rejected));
+
+        assertEquals(1, rejections.size());
+        assertSame(rejected, rejections.get(0).walletDto());
+        assertInstanceOf(EntityNotFoundException.class, rejections.get(0).cause());
+        assertEquals(0, new BigDecimal("40.00").compareTo(walletRepository.findByUsers(users).orElseThrow().getBalance()));
+
+        Users late = createUserWithWallet(walletRepository, "late@test.com", new BigDecimal("5.00"));
+        assertTrue(walletService.debitBatch(List.of(rejected)).isEmpty());
+        assertEquals(0, new BigDecimal("4.00").compareTo(walletRepository.findByUsers(late).orElseThrow().getBalance()));
+    }
+}
@@ -54,17 +54,34 @@ class WalletServiceTest {
     @DisplayName("Should add balance to the wallet when user and wallet are valid")
     public void shouldAddBalanceWhenUserAndWalletAreValid() {
         Users user = Users.builder().id(1L).build();
-        Wallet wallet = Wallet.builder().id(1L).balance(BigDecimal.TEN).build();
+        BigDecimal creditAmount = BigDecimal.valueOf(5);
 
-        when(walletRepository.findByUsers(user)).thenReturn(Optional.of(wallet));
+        when(walletRepository.credit(eq(user.getId()), eq(creditAmount), eq(0L), any(LocalDateTime.class))).thenReturn(1);
 
-        BigDecimal creditAmount = BigDecimal.valueOf(5);
         walletService.creditWallet(creditAmount, user);
 
-        Optional<Wallet> mockedWallet = walletRepository.findByUsers(user);
-        assertTrue(mockedWallet.isPresent());
-        BigDecimal expectedBalance = BigDecimal.TEN.add(creditAmount);
-        assertEquals(expectedBalance, mockedWallet.get().getBalance());
+        verify(walletRepository).credit(eq(user.getId()), eq(creditAmount), eq(0L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should return an exception when crediting a wallet that does not exist")
+    public void shouldReturnExceptionWhenCreditingMissingWallet() {
+        Users user = Users.builder().id(1L).build();
+
+        when(walletRepository.credit(eq(user.getId()), any(BigDecimal.class), anyLong(), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> walletService.creditWallet(BigDecimal.ONE, user));
+    }
+
+    @Test
+    @DisplayName("Should debit the wallet atomically by user email")
+    public void shouldDebitWalletByEmail() {
+        WalletDto walletDto = new WalletDto("test@test.com", BigDecimal.TEN);
+
+        when(walletRepository.debit(eq(walletDto.getEmail()), eq(walletDto.getValue()), anyLong(), any(LocalDateTime.class), anyBoolean()))
+                .thenReturn(1);
+
+        assertDoesNotThrow(() -> walletService.debit(walletDto));
     }
 
     @Test
@@ -88,6 +105,28 @@ class WalletServiceTest {
         when(walletRepository.findByUsers(wallet.getUsers())).thenThrow(new EntityNotFoundException("Entity not found"));
     }
 
+    @Test
+    @DisplayName("Should serve repeated wallet reads from the cache and reload it after a credit")
+    void shouldServeWalletFromCacheAndEvictOnCredit() {
+        Users users = Users.builder().id(2L).name("cached").email("cached@test.com").password("test").build();
+        Wallet wallet = Wallet.builder().id(2L).users(users).points(0L).balance(BigDecimal.ZERO).lastUpdate(LocalDateTime.now()).build();
+        Wallet credited = wallet.toBuilder().balance(BigDecimal.TEN).lastUpdate(wallet.getLastUpdate().plusSeconds(1)).build();
+        when(walletRepository.findByUsers(users)).thenReturn(Optional.of(wallet), Optional.of(credited));
+        when(walletRepository.credit(eq(users.getId()), eq(BigDecimal.TEN), eq(0L), any(LocalDateTime.class))).thenReturn(1);
+
+        WalletCache.Snapshot first = walletService.getWalletSnapshot(users);
+        assertEquals(first.etag(), walletService.getWalletSnapshot(users).etag());
+        verify(walletRepository, times(1)).findByUsers(users);
+
+        walletService.creditWallet(BigDecimal.TEN, users);
+        verify(walletRepository, times(1)).findByUsers(users);
+
+        WalletCache.Snapshot updated = walletService.getWalletSnapshot(users);
+        assertEquals(BigDecimal.TEN, updated.wallet().getBalance());
+        assertNotEquals(first.etag(), updated.etag());
+        verify(walletRepository, times(2)).findByUsers(users);
+    }
+
     @Test
     void calculatePoints_ShouldReturnCorrectPointsForCurrentDay() {
         MockitoAnnotations.openMocks(this);
@@ -1,7 +1,10 @@
 package br.com.sysmap.bootcamp.web.controller;
 
 import br.com.sysmap.bootcamp.domain.entities.Users;
+import br.com.sysmap.bootcamp.domain.service.UserImportService;
 import br.com.sysmap.bootcamp.domain.service.UsersService;
+import br.com.sysmap.bootcamp.dto.CursorPageDto;
+import br.com.sysmap.bootcamp.dto.ImportReportDto;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,11 +14,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,6 +40,9 @@ public class UsersControllerTest {
     @MockBean
     private UsersService usersService;
 
+    @MockBean
+    private UserImportService userImportService;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -101,6 +112,64 @@ public class UsersControllerTest {
                 .andExpect(jsonPath("$[1].name", is("test2")));
     }
 
+    @Test
+    @DisplayName("Should return a page of users and the next cursor")
+    public void shouldReturnPageOfUsersWithNextCursor() throws Exception {
+        Users user1 = Users.builder()
+                .id(11L)
+                .email("test1@test.com")
+                .name("test1")
+                .password("test1").build();
+
+        Users user2 = Users.builder()
+                .id(12L)
+                .email("test2@test.com")
+                .name("test2")
+                .password("test2").build();
+
+        when(usersService.getPage(10L, 2)).thenReturn(new CursorPageDto<>(Arrays.asList(user1, user2), 12L));
+
+        mockMvc.perform(get("/users/page").param("after", "10").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is(11)))
+                .andExpect(jsonPath("$.items[0].email", is("test1@test.com")))
+                .andExpect(jsonPath("$.items[0].password").doesNotExist())
+                .andExpect(jsonPath("$.items[1].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is(12)));
+    }
+
+    @Test
+    @DisplayName("Should stream every user as one JSON line")
+    public void shouldStreamUsersAsNewlineDelimitedJson() throws Exception {
+        List<Users> users = List.of(
+                Users.builder().id(1L).email("test1@test.com").name("test1").password("test1").build(),
+                Users.builder().id(2L).email("test2@test.com").name("test2").password("test2").build(),
+                Users.builder().id(3L).email("test3@test.com").name("test3").password("test3").build());
+        doAnswer(invocation -> {
+            Consumer<Users> consumer = invocation.getArgument(0);
+            users.forEach(consumer);
+            return null;
+        }).when(usersService).streamAll(any());
+
+        MvcResult result = mockMvc.perform(get("/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(users.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode line = objectMapper.readTree(lines[i]);
+            assertEquals(users.get(i).getEmail(), line.get("email").asText());
+            assertFalse(line.has("password"));
+        }
+    }
+
     @Test
     @DisplayName("Should update user successfully")
     public void shouldUpdateUserSuccessfully() throws Exception {
@@ -112,6 +181,7 @@ public class UsersControllerTest {
                 .build();
 
         when(usersService.getUserByContext()).thenReturn(updatedUser);
+        when(usersService.getById(1L)).thenReturn(updatedUser);
         when(usersService.update(updatedUser)).thenReturn(null);
 
         mockMvc.perform(put("/users/update")
@@ -123,5 +193,26 @@ public class UsersControllerTest {
         verify(usersService).update(updatedUser);
     }
 
+    @Test
+    @DisplayName("Should stream the import report as newline-delimited JSON")
+    public void shouldStreamImportReport() throws Exception {
+        ImportReportDto report = new ImportReportDto(true, 2, 1, 0, 1,
+                List.of(new ImportReportDto.RowError(2, null, "Malformed line")));
+        when(userImportService.importUsers(any(), any())).thenReturn(report);
+
+        MvcResult result = mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"a\",\"email\":\"a@test.com\",\"password\":\"a\"}\nnot-json\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(jsonPath("$.completed", is(true)))
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)));
+    }
+
 }
 
@@ -3,6 +3,8 @@ package br.com.sysmap.bootcamp.web.controller;
 import br.com.sysmap.bootcamp.domain.entities.Users;
 import br.com.sysmap.bootcamp.domain.entities.Wallet;
 import br.com.sysmap.bootcamp.domain.service.UsersService;
+import br.com.sysmap.bootcamp.domain.service.WalletCache;
+import br.com.sysmap.bootcamp.domain.service.WalletRetryService;
 import br.com.sysmap.bootcamp.domain.service.WalletService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +40,9 @@ public class WalletControllerTest {
     @MockBean
     private UsersService usersService;
 
+    @MockBean
+    private WalletRetryService walletRetryService;
+
     private ObjectMapper objectMapper;
 
     @BeforeEach
@@ -62,17 +67,43 @@ public class WalletControllerTest {
                 .build();
 
         Mockito.when(usersService.getUserByContext()).thenReturn(user);
-        Mockito.when(walletService.getWallet(user)).thenReturn(wallet);
+        Mockito.when(walletService.getWalletSnapshot(user)).thenReturn(new WalletCache.Snapshot(wallet, "\"v1\""));
 
         mockMvc.perform(get("/wallet")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1\""))
                 .andExpect(jsonPath("$.id").value(wallet.getId()))
                 .andExpect(jsonPath("$.balance").value(wallet.getBalance().doubleValue()))
                 .andExpect(jsonPath("$.points").value(wallet.getPoints().intValue()));
     }
 
 
+    @Test
+    @DisplayName("Should return 304 when the wallet matches If-None-Match")
+    public void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        Users user = Users.builder()
+                .id(1L)
+                .email("test@test.com")
+                .name("test")
+                .password("password").build();
+        Wallet wallet = Wallet.builder()
+                .id(1L)
+                .balance(BigDecimal.valueOf(100.00))
+                .points(10L)
+                .lastUpdate(LocalDateTime.now())
+                .users(user)
+                .build();
+
+        Mockito.when(usersService.getUserByContext()).thenReturn(user);
+        Mockito.when(walletService.getWalletSnapshot(user)).thenReturn(new WalletCache.Snapshot(wallet, "\"v1\""));
+
+        mockMvc.perform(get("/wallet")
+                        .header("If-None-Match", "\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("Should add credits to user's wallet when requested")
     public void shouldAddCreditsToUsersWalletWhenRequested() throws Exception {
@@ -89,4 +120,14 @@ public class WalletControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("Credits added successfully to wallet"));
     }
+
+    @Test
+    @DisplayName("Should replay parked wallet messages up to the capped maximum")
+    public void shouldReplayParkedMessages() throws Exception {
+        Mockito.when(walletRetryService.replayParked(1000)).thenReturn(3);
+
+        mockMvc.perform(post("/wallet/parking-lot/replay").param("max", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Replayed 3 parked wallet messages"));
+    }
 }